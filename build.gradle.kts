@@ -1,3 +1,6 @@
+import java.io.DataOutputStream
+import javax.imageio.ImageIO
+
 plugins {
     id("fabric-loom") version "1.9-SNAPSHOT"
 }
@@ -27,6 +30,118 @@ dependencies {
     modImplementation("meteordevelopment:meteor-client:${project.property("meteor_version")}")
 }
 
+// Packs the flag PNGs into atlas pages of raw RGB pixels, so the client can upload them without decoding any PNGs
+val packFlags by tasks.registering {
+    val flags = layout.projectDirectory.dir("src/main/resources/assets/serverseeker/textures/flags")
+    val output = layout.buildDirectory.dir("generated/flags")
+
+    inputs.dir(flags)
+    outputs.dir(output)
+
+    doLast {
+        // Must match FlagAtlas
+        val cellWidth = 64
+        val cellHeight = 80
+        val columns = 8
+        val rows = 8
+        val pageWidth = cellWidth * columns
+        val pageHeight = cellHeight * rows
+        val flagsPerPage = columns * rows
+
+        val images = flags.asFile.listFiles { file -> file.extension == "png" }!!
+            .map { it.nameWithoutExtension.lowercase() to ImageIO.read(it)!! }
+            .sortedBy { it.first }
+        val pages = Array((images.size + flagsPerPage - 1) / flagsPerPage) { ByteArray(pageWidth * pageHeight * 3) }
+
+        val file = output.get().file("assets/serverseeker/flags.bin").asFile
+        file.parentFile.mkdirs()
+
+        DataOutputStream(file.outputStream().buffered()).use { out ->
+            out.writeInt(0x5353464C) // SSFL
+            out.writeInt(1) // Version
+            out.writeShort(cellWidth)
+            out.writeShort(cellHeight)
+            out.writeShort(columns)
+            out.writeShort(rows)
+            out.writeShort(pages.size)
+            out.writeShort(images.size)
+
+            images.forEachIndexed { slot, (code, image) ->
+                val pixels = pages[slot / flagsPerPage]
+                val cell = slot % flagsPerPage
+                val cellX = cell % columns * cellWidth
+                val cellY = cell / columns * cellHeight
+                val width = minOf(image.width, cellWidth)
+                val height = minOf(image.height, cellHeight)
+
+                for (row in 0 until height) {
+                    for (column in 0 until width) {
+                        val pixel = image.getRGB(column, row)
+                        val offset = ((cellY + row) * pageWidth + cellX + column) * 3
+                        pixels[offset] = (pixel shr 16).toByte() // r
+                        pixels[offset + 1] = (pixel shr 8).toByte() // g
+                        pixels[offset + 2] = pixel.toByte() // b
+                    }
+                }
+
+                val name = code.toByteArray(Charsets.US_ASCII)
+                out.writeByte(name.size)
+                out.write(name)
+                out.writeShort(slot)
+                out.writeShort(width)
+                out.writeShort(height)
+            }
+
+            pages.forEach { out.write(it) }
+        }
+    }
+}
+
+// Compiles the country list into a static table, so the client builds its registry without parsing anything at startup
+val generateCountryTable by tasks.registering {
+    val countries = layout.projectDirectory.file("src/main/data/countries.tsv")
+    val flags = layout.projectDirectory.dir("src/main/resources/assets/serverseeker/textures/flags")
+    val output = layout.buildDirectory.dir("generated/sources/countries")
+
+    inputs.file(countries)
+    inputs.dir(flags)
+    outputs.dir(output)
+
+    doLast {
+        val flagCodes = flags.asFile.listFiles { file -> file.extension == "png" }!!.map { it.nameWithoutExtension.lowercase() }.toSet()
+        val rows = countries.asFile.readLines()
+            .filter { it.isNotBlank() && !it.startsWith("#") }
+            .map { line ->
+                val (code, name) = line.split('\t', limit = 2)
+                if (code.lowercase() !in flagCodes) logger.warn("No flag for country $code")
+                code to name
+            }
+
+        val file = output.get().file("de/damcraft/serverseeker/country/CountryTable.java").asFile
+        file.parentFile.mkdirs()
+        file.writeText(buildString {
+            appendLine("package de.damcraft.serverseeker.country;")
+            appendLine()
+            appendLine("// Generated from src/main/data/countries.tsv by the generateCountryTable task, do not edit")
+            appendLine("final class CountryTable {")
+            appendLine("    // Code, name pairs")
+            appendLine("    static final String[] TABLE = {")
+            rows.forEach { (code, name) -> appendLine("        \"$code\", \"${name.replace("\\", "\\\\").replace("\"", "\\\"")}\",") }
+            appendLine("    };")
+            appendLine()
+            appendLine("    private CountryTable() {} // Prevent instantiation")
+            appendLine("}")
+        })
+    }
+}
+
+sourceSets {
+    main {
+        java.srcDir(generateCountryTable)
+        resources.srcDir(packFlags)
+    }
+}
+
 tasks {
     processResources {
         val projectProperties = mapOf(
@@ -4,13 +4,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.mojang.logging.LogUtils;
 import de.damcraft.serverseeker.commands.*;
-import de.damcraft.serverseeker.country.Countries;
-import de.damcraft.serverseeker.country.Country;
 import de.damcraft.serverseeker.country.CountrySetting;
+import de.damcraft.serverseeker.country.FlagAtlas;
 import de.damcraft.serverseeker.hud.HistoricPlayersHud;
 import de.damcraft.serverseeker.modules.*;
 import de.damcraft.serverseeker.utils.*;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.addons.GithubRepo;
 import meteordevelopment.meteorclient.addons.MeteorAddon;
@@ -25,10 +23,7 @@ import net.minecraft.item.Items;
 import net.minecraft.text.Text;
 import org.slf4j.Logger;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class ServerSeeker extends MeteorAddon {
     // Constants
@@ -37,12 +32,9 @@ public class ServerSeeker extends MeteorAddon {
         Items.SPYGLASS.getDefaultStack(), 
         Text.literal("ServerSeeker").formatted(Formatting.GOLD));
     
-    public static final Map<String, Country> COUNTRY_MAP = new Object2ReferenceOpenHashMap<>();
-    public static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
-    
     // Configuration
     private static final boolean DEBUG_MODE = false;
-    private static final String API_BASE_URL = "https://api.serverseeker.net/v1";
+    private static final String API_BASE_URL = "https://api.serverseeker.net";
     
     // Gson instance with pretty printing for debug
     public static final Gson GSON = DEBUG_MODE ? 
@@ -59,12 +51,12 @@ public class ServerSeeker extends MeteorAddon {
         
         try {
             // Initialize core components
-            initializeCountries();
             registerModules();
             registerHudElements();
             registerCommands();
             registerEventHandlers();
             registerCustomSettings();
+            Runtime.getRuntime().addShutdownHook(new Thread(ThreadPools::shutdown, "ServerSeeker-shutdown"));
             
             LOG.info("ServerSeeker initialized successfully!");
         } catch (Exception e) {
@@ -92,12 +84,6 @@ public class ServerSeeker extends MeteorAddon {
         LOG.info("Running on Minecraft version: {}", minecraftVersion);
     }
     
-    private void initializeCountries() {
-        long startTime = System.currentTimeMillis();
-        Countries.init();
-        LOG.debug("Country data loaded in {}ms", System.currentTimeMillis() - startTime);
-    }
-    
     private void registerModules() {
         Modules.get().addAll(
             new BungeeSpoofModule(),
@@ -126,7 +112,9 @@ public class ServerSeeker extends MeteorAddon {
     
     private void registerEventHandlers() {
         MeteorClient.EVENT_BUS.subscribe(HistoricPlayersUpdater.class);
+        MeteorClient.EVENT_BUS.subscribe(PlayerListTracker.class);
         MeteorClient.EVENT_BUS.subscribe(ServerConnectionTracker.class);
+        MeteorClient.EVENT_BUS.subscribe(FlagAtlas.class);
     }
     
     private void registerCustomSettings() {
@@ -159,7 +147,7 @@ public class ServerSeeker extends MeteorAddon {
     
     // Utility methods
     public static void runAsync(Runnable task) {
-        EXECUTOR.execute(() -> {
+        ThreadPools.IO.execute(() -> {
             try {
                 task.run();
             } catch (Exception e) {
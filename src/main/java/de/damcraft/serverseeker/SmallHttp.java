@@ -1,16 +1,40 @@
 package de.damcraft.serverseeker;
 
+import de.damcraft.serverseeker.utils.ThreadPools;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static de.damcraft.serverseeker.ServerSeeker.LOG;
 
@@ -18,12 +42,40 @@ public final class SmallHttp {
     // Configuration constants
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
     private static final String USER_AGENT = "ServerSeeker/1.0";
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    // Download settings
+    private static final int DOWNLOAD_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+    private static final long DOWNLOAD_RETRY_DELAY_MS = 1000;
     private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
         .connectTimeout(DEFAULT_TIMEOUT)
         .followRedirects(HttpClient.Redirect.NORMAL)
         .version(HttpClient.Version.HTTP_2)
+        .executor(ThreadPools.IO)
         .build();
 
+    // Validators of earlier responses per URL and body hash, sent back so unchanged resources come back as an empty 304
+    private static final int MAX_VALIDATORS = 256;
+    private static final Map<String, Validators> VALIDATORS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Validators> eldest) {
+            return size() > MAX_VALIDATORS;
+        }
+    };
+
+    // Reads the whole body and undoes the Content-Encoding before decoding it as UTF-8
+    private static final HttpResponse.BodyHandler<String> DECODED_STRING = info -> HttpResponse.BodySubscribers.mapping(
+        HttpResponse.BodySubscribers.ofByteArray(),
+        bytes -> {
+            try (InputStream in = decode(new ByteArrayInputStream(bytes), info.headers())) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    );
+
     private SmallHttp() {} // Prevent instantiation
 
     // Synchronous POST with enhanced options
@@ -32,9 +84,10 @@ public final class SmallHttp {
     }
 
     public static String post(String url, String json, Duration timeout) {
-        HttpRequest request = buildPostRequest(url, json, timeout);
-        return sendRequest(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
-            .map(HttpResponse::body)
+        String key = validatorKey(url, json);
+        HttpRequest request = conditional(postBuilder(url, json, timeout), key, true);
+        return sendRequest(request, DECODED_STRING)
+            .map(response -> bodyOf(key, response))
             .orElse(null);
     }
 
@@ -44,24 +97,53 @@ public final class SmallHttp {
     }
 
     public static CompletableFuture<String> postAsync(String url, String json, Duration timeout) {
-        HttpRequest request = buildPostRequest(url, json, timeout);
-        return SHARED_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
-            .thenApply(HttpResponse::body)
+        String key = validatorKey(url, json);
+        HttpRequest request = conditional(postBuilder(url, json, timeout), key, true);
+        return SHARED_CLIENT.sendAsync(request, DECODED_STRING)
+            .thenApply(response -> bodyOf(key, response))
             .exceptionally(e -> {
                 LOG.error("Async POST failed: " + e.getMessage());
                 return null;
             });
     }
 
+    // Asynchronous POST whose body is read as a stream once the headers arrive, read it through decodedBody
+    public static CompletableFuture<HttpResponse<InputStream>> sendPostStreamAsync(String url, String json, Duration timeout) {
+        return sendPostStreamAsync(url, json, timeout, false);
+    }
+
+    /**
+     * Streaming POST. With {@code conditional} set, validators of earlier responses are sent along
+     * and a 304 tells the caller that the result it got last time is still current.
+     * Validators are recorded either way, so the next conditional request can use them.
+     */
+    public static CompletableFuture<HttpResponse<InputStream>> sendPostStreamAsync(String url, String json, Duration timeout, boolean conditional) {
+        String key = validatorKey(url, json);
+        HttpRequest request = conditional ? conditional(postBuilder(url, json, timeout), key, false) : buildPostRequest(url, json, timeout);
+        return SHARED_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+            .thenApply(response -> {
+                remember(key, response, null);
+                return response;
+            });
+    }
+
+    /**
+     * Opens a streamed body with its Content-Encoding undone. Reading the gzip header blocks, so call this off the client's threads.
+     */
+    public static InputStream decodedBody(HttpResponse<InputStream> response) throws IOException {
+        return decode(response.body(), response.headers());
+    }
+
     // Synchronous GET with enhanced options
     public static String get(String url) {
         return get(url, DEFAULT_TIMEOUT);
     }
 
     public static String get(String url, Duration timeout) {
-        HttpRequest request = buildGetRequest(url, timeout);
-        return sendRequest(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
-            .map(HttpResponse::body)
+        String key = validatorKey(url, null);
+        HttpRequest request = conditional(getBuilder(url, timeout), key, true);
+        return sendRequest(request, DECODED_STRING)
+            .map(response -> bodyOf(key, response))
             .orElse(null);
     }
 
@@ -71,52 +153,253 @@ public final class SmallHttp {
     }
 
     public static CompletableFuture<String> getAsync(String url, Duration timeout) {
-        HttpRequest request = buildGetRequest(url, timeout);
-        return SHARED_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
-            .thenApply(HttpResponse::body)
+        String key = validatorKey(url, null);
+        HttpRequest request = conditional(getBuilder(url, timeout), key, true);
+        return SHARED_CLIENT.sendAsync(request, DECODED_STRING)
+            .thenApply(response -> bodyOf(key, response))
             .exceptionally(e -> {
                 LOG.error("Async GET failed: " + e.getMessage());
                 return null;
             });
     }
 
-    // Download with progress tracking
-    public static HttpResponse<InputStream> download(String url) {
-        return download(url, DEFAULT_TIMEOUT, null);
+    /**
+     * Downloads a file into {@code directory}. The body is copied in chunks into a temporary {@code .part} file next to the target,
+     * interrupted transfers are resumed with a Range request, and the finished file is verified and then moved into place atomically,
+     * so a failed download never leaves a partial file under the final name.
+     *
+     * @param fileName picks the final file name from the response headers
+     * @param progress called with the bytes written so far and the total size, -1 if unknown; may be {@code null}
+     * @param verifier called with the SHA-256 of the finished file as lowercase hex, the download fails if it returns false; may be {@code null}
+     * @return the installed file
+     * @throws FileAlreadyExistsException if a file with the chosen name already exists, it is never overwritten
+     */
+    public static Path download(String url, Path directory, Duration timeout, Function<HttpHeaders, String> fileName, DownloadListener progress, Predicate<String> verifier) throws IOException {
+        Path part = directory.resolve("." + HexFormat.of().formatHex(sha256(url.getBytes(StandardCharsets.UTF_8)), 0, 8) + ".part");
+        IOException failure = null;
+
+        for (int attempt = 0; attempt < MAX_DOWNLOAD_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                try {
+                    Thread.sleep(DOWNLOAD_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            HttpHeaders headers;
+            try {
+                headers = downloadPart(url, part, timeout, progress);
+            } catch (IOException e) {
+                failure = e;
+                LOG.warn("Download of {} interrupted (attempt {}/{}): {}", url, attempt + 1, MAX_DOWNLOAD_ATTEMPTS, e.getMessage());
+                continue;
+            }
+
+            // A bad checksum won't get better by resuming
+            String sha256 = HexFormat.of().formatHex(sha256(part));
+            if (verifier != null && !verifier.test(sha256)) {
+                Files.deleteIfExists(part);
+                throw new IOException("Checksum mismatch for " + url + ": " + sha256);
+            }
+
+            Path target = directory.resolve(fileName.apply(headers)).normalize();
+            if (!directory.normalize().equals(target.getParent())) {
+                Files.deleteIfExists(part);
+                throw new IOException("Refusing to write outside " + directory + ": " + target);
+            }
+
+            if (Files.exists(target)) {
+                Files.deleteIfExists(part);
+                throw new FileAlreadyExistsException(target.toString());
+            }
+
+            return Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Files.deleteIfExists(part);
+        throw failure != null ? failure : new IOException("Download of " + url + " interrupted");
     }
 
-    public static HttpResponse<InputStream> download(String url, Duration timeout, Consumer<Long> progressCallback) {
-        HttpRequest request = buildGetRequest(url, timeout);
-        Optional<HttpResponse<InputStream>> response = sendRequest(request, HttpResponse.BodyHandlers.ofInputStream());
+    // Fetches the rest of the file into the .part file, resuming from what is already there
+    private static HttpHeaders downloadPart(String url, Path part, Duration timeout, DownloadListener progress) throws IOException {
+        long existing = Files.exists(part) ? Files.size(part) : 0;
 
-        if (response.isEmpty()) return null;
+        HttpRequest.Builder builder = downloadBuilder(url, timeout);
+        if (existing > 0) builder.header("Range", "bytes=" + existing + "-");
 
-        // Handle redirects
-        if (response.get().headers().firstValue("location").isPresent()) {
-            return download(response.get().headers().firstValue("location").get(), timeout, progressCallback);
+        HttpResponse<InputStream> response;
+        try {
+            response = SHARED_CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrupted");
         }
 
-        return response.get();
+        try (InputStream in = response.body()) {
+            int status = response.statusCode();
+            // The server ignored the range or the file changed, start over
+            boolean resumed = status == 206 && existing > 0 && rangeStart(response.headers()) == existing;
+            if (status == 416 || (status == 206 && !resumed)) {
+                Files.deleteIfExists(part);
+                throw new IOException("Cannot resume download of " + url + " (HTTP " + status + ")");
+            }
+            if (status / 100 != 2) throw new IOException("Download of " + url + " failed with HTTP " + status);
+
+            long offset = resumed ? existing : 0;
+            long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            long total = length >= 0 ? offset + length : -1;
+
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, resumed ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+                 ReadableByteChannel source = Channels.newChannel(in)) {
+                ByteBuffer buffer = ByteBuffer.allocate(DOWNLOAD_CHUNK_SIZE);
+                long written = offset;
+                if (progress != null) progress.onProgress(written, total);
+
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) written += channel.write(buffer);
+                    buffer.clear();
+                    if (progress != null) progress.onProgress(written, total);
+                }
+
+                if (total >= 0 && written != total) throw new IOException("Download of " + url + " ended after " + written + " of " + total + " bytes");
+                channel.force(true);
+            }
+
+            return response.headers();
+        }
+    }
+
+    private static long rangeStart(HttpHeaders headers) {
+        // Content-Range: bytes <start>-<end>/<total>
+        return headers.firstValue("Content-Range")
+            .filter(range -> range.startsWith("bytes "))
+            .map(range -> {
+                try {
+                    return Long.parseLong(range.substring(6, range.indexOf('-')).trim());
+                } catch (RuntimeException e) {
+                    return -1L;
+                }
+            })
+            .orElse(-1L);
+    }
+
+    private static byte[] sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(DOWNLOAD_CHUNK_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        return sha256().digest(data);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface DownloadListener {
+        void onProgress(long downloaded, long total);
+    }
+
+    // Conditional request support
+    private static String validatorKey(String url, String body) {
+        if (body == null) return url;
+        return url + '\n' + HexFormat.of().formatHex(sha256(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Callers that resolve a 304 from the stored body need one, streaming callers keep their own result
+    private static HttpRequest conditional(HttpRequest.Builder builder, String key, boolean needsBody) {
+        Validators validators;
+        synchronized (VALIDATORS) {
+            validators = VALIDATORS.get(key);
+        }
+
+        if (validators != null && (!needsBody || validators.body() != null)) {
+            if (validators.etag() != null) builder.header("If-None-Match", validators.etag());
+            if (validators.lastModified() != null) builder.header("If-Modified-Since", validators.lastModified());
+        }
+        return builder.build();
+    }
+
+    private static void remember(String key, HttpResponse<?> response, String body) {
+        if (response.statusCode() / 100 != 2) return;
+
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        synchronized (VALIDATORS) {
+            if (etag == null && lastModified == null) VALIDATORS.remove(key);
+            else VALIDATORS.put(key, new Validators(etag, lastModified, body));
+        }
+    }
+
+    // Resolves a 304 to the body it confirmed
+    private static String bodyOf(String key, HttpResponse<String> response) {
+        if (response.statusCode() == 304) {
+            synchronized (VALIDATORS) {
+                Validators validators = VALIDATORS.get(key);
+                return validators != null ? validators.body() : null;
+            }
+        }
+
+        remember(key, response, response.body());
+        return response.body();
+    }
+
+    private static InputStream decode(InputStream in, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(in, 8192);
+            case "deflate" -> new InflaterInputStream(in);
+            default -> in;
+        };
     }
 
     // Common request building methods
     private static HttpRequest buildPostRequest(String url, String json, Duration timeout) {
+        return postBuilder(url, json, timeout).build();
+    }
+
+    private static HttpRequest.Builder postBuilder(String url, String json, Duration timeout) {
         return HttpRequest.newBuilder()
             .uri(URI.create(url))
             .timeout(timeout)
             .header("Content-Type", "application/json")
+            .header("Accept-Encoding", ACCEPT_ENCODING)
+            .header("User-Agent", USER_AGENT)
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static HttpRequest.Builder getBuilder(String url, Duration timeout) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .timeout(timeout)
+            .header("Accept-Encoding", ACCEPT_ENCODING)
             .header("User-Agent", USER_AGENT)
-            .POST(HttpRequest.BodyPublishers.ofString(json))
-            .build();
+            .GET();
     }
 
-    private static HttpRequest buildGetRequest(String url, Duration timeout) {
+    // Downloads are stored byte for byte, so they are never requested compressed
+    private static HttpRequest.Builder downloadBuilder(String url, Duration timeout) {
         return HttpRequest.newBuilder()
             .uri(URI.create(url))
             .timeout(timeout)
             .header("User-Agent", USER_AGENT)
-            .GET()
-            .build();
+            .GET();
     }
 
     // Common request sending method with proper error handling
@@ -135,4 +418,6 @@ public final class SmallHttp {
         }
         return Optional.empty();
     }
+
+    private record Validators(String etag, String lastModified, String body) {}
 }
@@ -5,11 +5,10 @@ import com.mojang.brigadier.LiteralMessage;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.ServerInfoRequest;
 import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
 import meteordevelopment.meteorclient.commands.Command;
-import meteordevelopment.meteorclient.utils.network.Http;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.command.CommandSource;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
@@ -29,7 +28,6 @@ public class ServerInfoCommand extends Command {
         new SimpleCommandExceptionType(new LiteralMessage("Cannot run command in singleplayer."));
     private static final DateTimeFormatter DATE_FORMATTER = 
         DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withZone(ZoneId.systemDefault());
-    private static final String API_ENDPOINT = "https://api.serverseeker.net/server_info";
 
     public ServerInfoCommand() {
         super("server-info", "Displays detailed information about the current server", "si");
@@ -47,24 +45,14 @@ public class ServerInfoCommand extends Command {
 
             info("Fetching server info...", Formatting.GRAY);
 
-            MeteorExecutor.execute(() -> {
-                try {
-                    ServerInfoResponse response = Http.post(API_ENDPOINT)
-                        .exceptionHandler(e -> {
-                            LOG.error("Failed to fetch server info: ", e);
-                            mc.execute(() -> error("Failed to connect to ServerSeeker API"));
-                        })
-                        .timeout(5000, TimeUnit.MILLISECONDS)
-                        .bodyJson(request)
-                        .sendJson(ServerInfoResponse.class);
-
-                    if (response == null) return;
-
-                    mc.execute(() -> handleResponse(response));
-                } catch (Exception e) {
-                    LOG.error("Unexpected error in ServerInfoCommand: ", e);
-                    mc.execute(() -> error("An unexpected error occurred"));
+            ServerSeekerApi.serverInfo(request).whenComplete((response, e) -> {
+                if (e != null) {
+                    LOG.error("Failed to fetch server info: ", e);
+                    mc.execute(() -> error("Failed to connect to ServerSeeker API"));
+                    return;
                 }
+
+                mc.execute(() -> handleResponse(response));
             });
 
             return SINGLE_SUCCESS;
@@ -1,6 +1,5 @@
 package de.damcraft.serverseeker.country;
 
-import de.damcraft.serverseeker.ServerSeeker;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.renderer.GuiRenderer;
 import meteordevelopment.meteorclient.gui.widgets.WLabel;
@@ -11,6 +10,7 @@ import meteordevelopment.meteorclient.settings.IVisible;
 import meteordevelopment.meteorclient.settings.Setting;
 import net.minecraft.nbt.NbtCompound;
 
+import java.util.Locale;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -47,19 +47,19 @@ public class CountrySetting extends Setting<Country> {
         WButton reset = list.add(theme.button(GuiRenderer.RESET)).expandCellX().right().widget();
         reset.action = () -> {
             setting.reset();
-            country.set(ServerSeeker.COUNTRY_MAP.get("UN"));
+            country.set(Countries.UN);
             nameLabel.set("Any");
         };
     }
 
     @Override
     protected Country parseImpl(String str) {
-        return ServerSeeker.COUNTRY_MAP.get(str);
+        return Countries.get(str.toUpperCase(Locale.ENGLISH));
     }
 
     @Override
     protected boolean isValueValid(Country value) {
-        return value.code != null && ServerSeeker.COUNTRY_MAP.containsValue(value);
+        return Countries.contains(value);
     }
 
     @Override
@@ -70,7 +70,7 @@ public class CountrySetting extends Setting<Country> {
 
     @Override
     protected Country load(NbtCompound tag) {
-        return ServerSeeker.COUNTRY_MAP.get(tag.getString("value"));
+        return Countries.get(tag.getString("value").toUpperCase(Locale.ENGLISH));
     }
 
     public static class Builder extends SettingBuilder<Builder, Country, CountrySetting> {
@@ -1,6 +1,5 @@
 package de.damcraft.serverseeker.country;
 
-import de.damcraft.serverseeker.ServerSeeker;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.widgets.WLabel;
@@ -29,6 +28,8 @@ public class CountrySettingScreen extends WindowScreen {
 
     @Override
     public void initWidgets() {
+        FlagAtlas.acquire(this);
+
         filter = add(theme.textBox("")).minWidth(400).expandX().widget();
         filter.setFocused(true);
         filter.action = () -> {
@@ -44,7 +45,7 @@ public class CountrySettingScreen extends WindowScreen {
     }
 
     private void initTable() {
-        Collection<Country> countries = ServerSeeker.COUNTRY_MAP.values();
+        Collection<Country> countries = Countries.all();
         // Sort alphabetically. Save to array to avoid concurrent modification.
         Country[] countryArray = countries.toArray(new Country[0]);
         Arrays.sort(countryArray);
@@ -69,4 +70,9 @@ public class CountrySettingScreen extends WindowScreen {
             table.row();
         }
     }
+
+    @Override
+    protected void onClosed() {
+        FlagAtlas.release(this);
+    }
 }
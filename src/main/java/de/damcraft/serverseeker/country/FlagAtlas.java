@@ -0,0 +1,376 @@
+package de.damcraft.serverseeker.country;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import de.damcraft.serverseeker.utils.ThreadPools;
+import meteordevelopment.meteorclient.events.world.TickEvent;
+import meteordevelopment.meteorclient.gui.renderer.GuiRenderer;
+import meteordevelopment.meteorclient.renderer.Renderer2D;
+import meteordevelopment.meteorclient.renderer.Texture;
+import meteordevelopment.meteorclient.utils.render.color.Color;
+import meteordevelopment.orbit.EventHandler;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.system.MemoryUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static meteordevelopment.meteorclient.MeteorClient.LOG;
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
+/**
+ * Packs the flags from {@code assets/serverseeker/textures/flags} into atlas pages of 8x8 cells.
+ * When the build produced a pre-decoded {@link FlagPack}, a page is uploaded as a single texture the first time one of its flags is needed.
+ * Otherwise the page starts out blank and each flag is decoded from its PNG on the bounded CPU pool the first time it is needed,
+ * then copied into its cell on the render thread together with every other flag decoded since the last frame.
+ * Flags are drawn as sub-rectangles, batched per page, so a screen full of flags binds at most one texture per page each frame.
+ * Screens showing flags {@link #acquire} the atlas while open. Once nobody holds it, the least recently used pages beyond the
+ * memory cap are evicted right away and the rest once they have not been used for a while, so flags survive quick screen switches.
+ * Only used from the render thread unless noted otherwise.
+ */
+public final class FlagAtlas {
+    public static final String NAMESPACE = "serverseeker";
+    public static final String FLAG_DIRECTORY = "textures/flags";
+
+    // Flags are 64 pixels wide and at most 78 pixels high, the packFlags task in build.gradle.kts uses the same layout
+    private static final int CELL_WIDTH = 64;
+    private static final int CELL_HEIGHT = 80;
+    private static final int PAGE_COLUMNS = 8;
+    private static final int PAGE_ROWS = 8;
+    private static final int FLAGS_PER_PAGE = PAGE_COLUMNS * PAGE_ROWS;
+    private static final int PAGE_WIDTH = CELL_WIDTH * PAGE_COLUMNS;
+    private static final int PAGE_HEIGHT = CELL_HEIGHT * PAGE_ROWS;
+    private static final long PAGE_BYTES = (long) PAGE_WIDTH * PAGE_HEIGHT * 3;
+
+    private static final long IDLE_EVICT_MS = 30_000;
+    private static final long IN_USE_MS = 1000; // Pages drawn this recently are never evicted for the memory cap
+    private static final long MAX_RESIDENT_BYTES = 2 * PAGE_BYTES; // Half of the current atlas
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 5000;
+
+    // Filled by the CPU pool, drained on the render thread
+    private static final Queue<Decoded> DECODED = new ConcurrentLinkedQueue<>();
+
+    // Weak so that a screen which is never closed properly cannot pin the atlas forever
+    private static final Set<Object> USERS = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private static Map<String, Integer> slots;
+    private static List<String> codes;
+    private static Page[] pages;
+    private static boolean flushQueued;
+
+    private FlagAtlas() {} // Prevent instantiation
+
+    /**
+     * Keeps the pages from being evicted for being idle until {@code user} {@link #release releases} them. Acquiring twice is harmless.
+     */
+    public static void acquire(Object user) {
+        USERS.add(user);
+    }
+
+    public static void release(Object user) {
+        USERS.remove(user);
+    }
+
+    public static boolean contains(String code) {
+        index();
+        return slots.containsKey(code);
+    }
+
+    /**
+     * @return the flag's region, or {@code null} if there is no flag for this code, it is still loading or it could not be loaded
+     */
+    @Nullable
+    public static Region get(String code) {
+        index();
+        Integer slot = slots.get(code);
+        if (slot == null) return null;
+
+        if (!DECODED.isEmpty()) uploadDecoded();
+
+        Page page = pages[slot / FLAGS_PER_PAGE];
+        int cell = slot % FLAGS_PER_PAGE;
+        page.lastUsed = System.currentTimeMillis();
+
+        if (page.packed != null) {
+            if (page.texture == null) page.uploadPacked();
+            return page.regions[cell];
+        }
+
+        State state = page.states.get(cell);
+        if (state == State.DONE) return page.regions[cell];
+
+        // Only the caller that wins the transition to LOADING submits a decode
+        boolean load = state == State.EMPTY || (state == State.FAILED && page.canRetry(cell));
+        if (load && page.states.compareAndSet(cell, state, State.LOADING)) {
+            if (page.texture == null) page.texture = blankTexture();
+
+            int generation = page.generation;
+            try {
+                ThreadPools.CPU.execute(() -> decode(page, cell, generation, code));
+            } catch (RejectedExecutionException e) {
+                page.states.set(cell, State.EMPTY); // Shutting down
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues a flag to be drawn, the quads of every page are submitted together once the GUI has rendered.
+     */
+    public static void draw(GuiRenderer renderer, double x, double y, double width, double height, Region region) {
+        Page page = region.page();
+        if (page.texture == null) return;
+
+        if (page.renderer == null) page.renderer = new Renderer2D(true);
+        if (!page.batching) {
+            page.renderer.begin();
+            page.batching = true;
+        }
+        page.renderer.texQuad(x, y, width, height, 0, region.u1(), region.v1(), region.u2(), region.v2(), Color.WHITE);
+
+        if (!flushQueued) {
+            flushQueued = true;
+            renderer.post(FlagAtlas::flush);
+        }
+    }
+
+    @EventHandler
+    private static void onTick(TickEvent.Post event) {
+        if (pages == null) return;
+
+        long now = System.currentTimeMillis();
+        long resident = 0;
+        for (Page page : pages) {
+            if (page.texture == null) continue;
+            if (USERS.isEmpty() && now - page.lastUsed > IDLE_EVICT_MS) page.evict();
+            else resident += PAGE_BYTES;
+        }
+
+        // A screen holding the atlas may scroll back to any page, so the cap only applies once it is released.
+        // Until the idle eviction frees everything, the most recently drawn pages are kept for a quick return
+        while (USERS.isEmpty() && resident > MAX_RESIDENT_BYTES) {
+            Page oldest = null;
+            for (Page page : pages) {
+                if (page.texture == null || now - page.lastUsed < IN_USE_MS) continue;
+                if (oldest == null || page.lastUsed < oldest.lastUsed) oldest = page;
+            }
+            if (oldest == null) return;
+
+            oldest.evict();
+            resident -= PAGE_BYTES;
+        }
+    }
+
+    private static void flush() {
+        flushQueued = false;
+        if (pages == null) return;
+
+        for (Page page : pages) {
+            if (!page.batching) continue;
+            page.batching = false;
+            page.renderer.end();
+            if (page.texture == null) continue;
+
+            page.texture.bind();
+            page.renderer.render(null);
+        }
+    }
+
+    // Runs on the CPU pool. Failures go through the queue too, so only the render thread moves a flag out of LOADING
+    private static void decode(Page page, int cell, int generation, String code) {
+        Identifier identifier = Identifier.of(NAMESPACE, FLAG_DIRECTORY + "/" + code + ".png");
+
+        try (InputStream in = mc.getResourceManager().open(identifier)) {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) throw new IOException("Unsupported image format");
+
+            int width = Math.min(image.getWidth(), CELL_WIDTH);
+            int height = Math.min(image.getHeight(), CELL_HEIGHT);
+            int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+            ByteBuffer data = BufferUtils.createByteBuffer(width * height * 3);
+            for (int pixel : pixels) {
+                data.put((byte) ((pixel >> 16) & 0xFF)); // r
+                data.put((byte) ((pixel >> 8) & 0xFF)); // g
+                data.put((byte) (pixel & 0xFF)); // b
+            }
+
+            DECODED.add(new Decoded(page, cell, generation, data.flip(), width, height));
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Could not load flag: {}", code, e);
+            DECODED.add(new Decoded(page, cell, generation, null, 0, 0));
+        }
+    }
+
+    // Copies every decoded flag into its cell, binding each page once per run of flags
+    private static void uploadDecoded() {
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ROW_LENGTH, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_ROWS, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_PIXELS, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ALIGNMENT, 1); // RGB rows are not always a multiple of 4 bytes
+
+        Page bound = null;
+        Decoded decoded;
+        while ((decoded = DECODED.poll()) != null) {
+            Page page = decoded.page();
+            int cell = decoded.cell();
+            if (decoded.generation() != page.generation) continue; // Disposed while decoding
+
+            if (decoded.data() == null) {
+                page.fail(cell);
+                continue;
+            }
+
+            if (page != bound) {
+                page.texture.bind();
+                bound = page;
+            }
+
+            int cellX = (cell % PAGE_COLUMNS) * CELL_WIDTH;
+            int cellY = (cell / PAGE_COLUMNS) * CELL_HEIGHT;
+            GlStateManager._texSubImage2D(GL11.GL_TEXTURE_2D, 0, cellX, cellY, decoded.width(), decoded.height(),
+                GL11.GL_RGB, GL11.GL_UNSIGNED_BYTE, MemoryUtil.memAddress(decoded.data()));
+
+            page.regions[cell] = page.region(cell, decoded.width(), decoded.height());
+            page.states.set(cell, State.DONE);
+        }
+
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ALIGNMENT, 4);
+    }
+
+    private static Texture blankTexture() {
+        return new Texture(PAGE_WIDTH, PAGE_HEIGHT, new byte[PAGE_WIDTH * PAGE_HEIGHT * 3], Texture.Format.RGB, Texture.Filter.Nearest, Texture.Filter.Nearest);
+    }
+
+    // Lists the available flags once and assigns every flag a fixed cell
+    private static void index() {
+        if (slots != null) return;
+
+        FlagPack pack = FlagPack.open(CELL_WIDTH, CELL_HEIGHT, PAGE_COLUMNS, PAGE_ROWS);
+        if (pack != null) {
+            index(pack);
+            return;
+        }
+
+        codes = new ArrayList<>();
+        mc.getResourceManager().findResources(FLAG_DIRECTORY, id -> id.getNamespace().equals(NAMESPACE) && id.getPath().endsWith(".png"))
+            .keySet().forEach(id -> {
+                String file = id.getPath().substring(FLAG_DIRECTORY.length() + 1);
+                codes.add(file.substring(0, file.length() - ".png".length()).toLowerCase(Locale.ENGLISH));
+            });
+        codes.sort(null);
+
+        slots = new HashMap<>();
+        for (int i = 0; i < codes.size(); i++) slots.put(codes.get(i), i);
+
+        pages = new Page[(codes.size() + FLAGS_PER_PAGE - 1) / FLAGS_PER_PAGE];
+        for (int i = 0; i < pages.length; i++) pages[i] = new Page(null);
+    }
+
+    // The pack already placed every flag, only the regions are left to compute
+    private static void index(FlagPack pack) {
+        codes = pack.codes;
+        slots = new HashMap<>();
+        pages = new Page[pack.pageCount];
+        for (int i = 0; i < pages.length; i++) pages[i] = new Page(pack.page(i));
+
+        for (int i = 0; i < codes.size(); i++) {
+            int slot = pack.slots[i];
+            int cell = slot % FLAGS_PER_PAGE;
+            Page page = pages[slot / FLAGS_PER_PAGE];
+            page.regions[cell] = page.region(cell, pack.widths[i], pack.heights[i]);
+            slots.put(codes.get(i), slot);
+        }
+    }
+
+    public record Region(Page page, double u1, double v1, double u2, double v2, int width, int height) {}
+
+    public enum State {
+        EMPTY,
+        LOADING,
+        DONE,
+        FAILED
+    }
+
+    private record Decoded(Page page, int cell, int generation, @Nullable ByteBuffer data, int width, int height) {}
+
+    public static final class Page {
+        @Nullable
+        private final ByteBuffer packed;
+        private final Region[] regions = new Region[FLAGS_PER_PAGE];
+
+        // Per flag, unused for packed pages which are uploaded in one go
+        private final AtomicReferenceArray<State> states = new AtomicReferenceArray<>(FLAGS_PER_PAGE);
+        private final int[] attempts = new int[FLAGS_PER_PAGE];
+        private final long[] retryAt = new long[FLAGS_PER_PAGE];
+        private int generation;
+
+        private Texture texture;
+        private long lastUsed;
+        private Renderer2D renderer;
+        private boolean batching;
+
+        private Page(@Nullable ByteBuffer packed) {
+            this.packed = packed;
+            for (int i = 0; i < FLAGS_PER_PAGE; i++) states.set(i, State.EMPTY);
+        }
+
+        // The pixels go to the GPU straight from the pack
+        private void uploadPacked() {
+            texture = new Texture();
+            texture.upload(PAGE_WIDTH, PAGE_HEIGHT, packed, Texture.Format.RGB, Texture.Filter.Nearest, Texture.Filter.Nearest);
+        }
+
+        private void fail(int cell) {
+            attempts[cell]++;
+            retryAt[cell] = System.currentTimeMillis() + RETRY_DELAY_MS;
+            states.set(cell, State.FAILED);
+        }
+
+        private boolean canRetry(int cell) {
+            return attempts[cell] < MAX_ATTEMPTS && System.currentTimeMillis() >= retryAt[cell];
+        }
+
+        // The page is rebuilt on its next use, decodes that are still running are discarded once they finish
+        private void evict() {
+            texture.dispose();
+            texture = null;
+            if (packed != null) return;
+
+            generation++;
+            Arrays.fill(regions, null);
+            Arrays.fill(attempts, 0);
+            for (int i = 0; i < FLAGS_PER_PAGE; i++) states.set(i, State.EMPTY);
+        }
+
+        private Region region(int cell, int width, int height) {
+            int cellX = (cell % PAGE_COLUMNS) * CELL_WIDTH;
+            int cellY = (cell / PAGE_COLUMNS) * CELL_HEIGHT;
+            return new Region(this,
+                (double) cellX / PAGE_WIDTH, (double) cellY / PAGE_HEIGHT,
+                (double) (cellX + width) / PAGE_WIDTH, (double) (cellY + height) / PAGE_HEIGHT,
+                width, height
+            );
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package de.damcraft.serverseeker.country;
+
+import net.fabricmc.loader.api.FabricLoader;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static meteordevelopment.meteorclient.MeteorClient.LOG;
+
+/**
+ * The flag atlas pages pre-decoded to raw RGB by the {@code packFlags} Gradle task.
+ * The pack is memory mapped when the mod runs from a directory and read into a direct buffer when it runs from a jar,
+ * either way pages are uploaded straight from it without decoding any PNGs.
+ */
+final class FlagPack {
+    private static final String PATH = "assets/" + FlagAtlas.NAMESPACE + "/flags.bin";
+    private static final int MAGIC = 0x5353464C; // SSFL
+    private static final int VERSION = 1;
+
+    final List<String> codes;
+    final int[] slots;
+    final int[] widths;
+    final int[] heights;
+    final int pageCount;
+
+    private final ByteBuffer data;
+    private final int pagesStart;
+    private final int pageSize;
+
+    private FlagPack(ByteBuffer data, int pageWidth, int pageHeight) {
+        this.data = data;
+        this.pageSize = pageWidth * pageHeight * 3;
+
+        pageCount = data.getShort() & 0xFFFF;
+        int count = data.getShort() & 0xFFFF;
+        codes = new ArrayList<>(count);
+        slots = new int[count];
+        widths = new int[count];
+        heights = new int[count];
+
+        byte[] name = new byte[255];
+        for (int i = 0; i < count; i++) {
+            int length = data.get() & 0xFF;
+            data.get(name, 0, length);
+            codes.add(new String(name, 0, length, StandardCharsets.US_ASCII));
+            slots[i] = data.getShort() & 0xFFFF;
+            widths[i] = data.getShort() & 0xFFFF;
+            heights[i] = data.getShort() & 0xFFFF;
+        }
+
+        pagesStart = data.position();
+        if (data.capacity() < pagesStart + (long) pageCount * pageSize) throw new IllegalStateException("Truncated flag pack");
+    }
+
+    /**
+     * @return the RGB pixels of a page, ready to upload
+     */
+    ByteBuffer page(int index) {
+        return data.slice(pagesStart + index * pageSize, pageSize);
+    }
+
+    /**
+     * @return the pack, or {@code null} if it is missing or laid out differently than the atlas, in which case the atlas decodes the PNGs
+     */
+    @Nullable
+    static FlagPack open(int cellWidth, int cellHeight, int columns, int rows) {
+        Optional<Path> path = FabricLoader.getInstance().getModContainer(FlagAtlas.NAMESPACE).flatMap(mod -> mod.findPath(PATH));
+        if (path.isEmpty()) return null;
+
+        try {
+            ByteBuffer data = read(path.get());
+            if (data.getInt() != MAGIC || data.getInt() != VERSION) {
+                LOG.warn("Ignoring flag pack with an unknown format");
+                return null;
+            }
+            if (data.getShort() != cellWidth || data.getShort() != cellHeight || data.getShort() != columns || data.getShort() != rows) {
+                LOG.warn("Ignoring flag pack with a different page layout");
+                return null;
+            }
+            return new FlagPack(data, cellWidth * columns, cellHeight * rows);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Could not read flag pack", e);
+            return null;
+        }
+    }
+
+    private static ByteBuffer read(Path path) throws IOException {
+        // Only files on the default file system can be mapped, the jar's file system needs a copy
+        if (path.getFileSystem() == FileSystems.getDefault()) {
+            try (FileChannel channel = FileChannel.open(path)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            ByteBuffer data = ByteBuffer.allocateDirect((int) channel.size());
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) throw new IOException("Unexpected end of flag pack");
+            }
+            return data.flip();
+        }
+    }
+}
@@ -2,7 +2,6 @@ package de.damcraft.serverseeker.country;
 
 import meteordevelopment.meteorclient.gui.renderer.GuiRenderer;
 import meteordevelopment.meteorclient.gui.widgets.WWidget;
-import meteordevelopment.meteorclient.renderer.Texture;
 
 public class WCountry extends WWidget {
 
@@ -26,17 +25,15 @@ public class WCountry extends WWidget {
 
     @Override
     protected void onRender(GuiRenderer renderer, double mouseX, double mouseY, double delta) {
-        Texture texture = this.country.getTexture();
-        if (texture == null) return;
+        FlagAtlas.Region flag = this.country.getFlag();
+        if (flag == null) return;
 
-        int wanted_height = (int) (super.width * texture.height / texture.width);
+        int wanted_height = (int) (super.width * flag.height() / flag.width());
 
         // Center y
         int wanted_y = (int) (y + (super.height - wanted_height) / 2);
 
-        if (texture.isValid()) {
-            renderer.texture(x, wanted_y, super.width, wanted_height, 0, texture);
-        }
+        FlagAtlas.draw(renderer, x, wanted_y, super.width, wanted_height, flag);
     }
 
 }
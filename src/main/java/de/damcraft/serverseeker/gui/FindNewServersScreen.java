@@ -1,9 +1,11 @@
 package de.damcraft.serverseeker.gui;
 
 import com.google.common.net.HostAndPort;
-import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.country.Countries;
 import de.damcraft.serverseeker.country.Country;
 import de.damcraft.serverseeker.country.CountrySetting;
+import de.damcraft.serverseeker.country.FlagAtlas;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.ServersRequest;
 import de.damcraft.serverseeker.ssapi.responses.ServersResponse;
 import de.damcraft.serverseeker.utils.*;
@@ -12,8 +14,6 @@ import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.widgets.containers.*;
 import meteordevelopment.meteorclient.gui.widgets.pressable.*;
 import meteordevelopment.meteorclient.settings.*;
-import meteordevelopment.meteorclient.utils.network.Http;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.SharedConstants;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.TitleScreen;
@@ -28,7 +28,9 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.damcraft.serverseeker.ServerSeeker.LOG;
@@ -50,10 +52,23 @@ public class FindNewServersScreen extends WindowScreen {
     private List<ServersResponse.Server> foundServers;
     private AtomicInteger currentPage = new AtomicInteger(1);
     private int totalPages = 1;
-    private CompletableFuture<Void> searchFuture;
+    private CompletableFuture<?> searchFuture;
+
+    // Server-side paging state, only used when server-side-paging is enabled
+    private ServersRequest pagedRequest;
+    private final Map<Integer, CompletableFuture<ServersResponse>> pageWindow = new LinkedHashMap<>(PAGE_WINDOW_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<ServersResponse>> eldest) {
+            if (size() <= PAGE_WINDOW_SIZE) return false;
+            // An evicted prefetch that is still downloading would otherwise hold a scheduler slot
+            eldest.getValue().cancel(true);
+            return true;
+        }
+    };
     
     // Constants
     private static final int RESULTS_PER_PAGE = 10;
+    private static final int PAGE_WINDOW_SIZE = 3; // previous, current and prefetched next page
     private static final DateTimeFormatter TIME_FORMATTER = 
         DateTimeFormatter.ofPattern("MMM dd HH:mm").withZone(ZoneId.systemDefault());
 
@@ -218,7 +233,7 @@ public class FindNewServersScreen extends WindowScreen {
     private final Setting<Country> countrySetting = sgLocation.add(new CountrySetting.Builder()
         .name("country")
         .description("Server country")
-        .defaultValue(ServerSeeker.COUNTRY_MAP.get("UN"))
+        .defaultValue(Countries.UN)
         .visible(() -> geoSearchTypeSetting.get() == GeoSearchType.Country)
         .build()
     );
@@ -260,6 +275,13 @@ public class FindNewServersScreen extends WindowScreen {
         .build()
     );
 
+    private final Setting<Boolean> serverSidePaging = sgAdvanced.add(new BoolSetting.Builder()
+        .name("server-side-paging")
+        .description("Fetch results one page at a time from the API instead of all at once")
+        .defaultValue(true)
+        .build()
+    );
+
     private final MultiplayerScreen multiplayerScreen;
 
     public FindNewServersScreen(MultiplayerScreen multiplayerScreen) {
@@ -271,6 +293,7 @@ public class FindNewServersScreen extends WindowScreen {
     public void initWidgets() {
         loadSettings();
         onClosed(this::saveSettings);
+        FlagAtlas.acquire(this);
 
         // Settings panel
         WVerticalList settingsList = add(theme.verticalList()).expandX().widget();
@@ -321,17 +344,32 @@ public class FindNewServersScreen extends WindowScreen {
         statusLabel.set("Searching...");
         progressBar.progress = 0;
 
-        searchFuture = CompletableFuture.runAsync(() -> {
-            ServersResponse response = Http.post("https://api.serverseeker.net/servers")
-                .timeout(10000)
-                .exceptionHandler(e -> {
-                    LOG.error("Search failed", e);
-                    searchError = "Network error: " + e.getMessage();
-                })
-                .bodyJson(request)
-                .sendJson(ServersResponse.class);
-
-            MinecraftClient.getInstance().execute(() -> handleSearchResponse(response));
+        if (serverSidePaging.get()) {
+            pagedRequest = request;
+            CompletableFuture<ServersResponse> firstPage = fetchPage(1);
+            searchFuture = firstPage;
+            firstPage.whenComplete((response, e) -> MinecraftClient.getInstance().execute(() -> {
+                if (!searchActive || pagedRequest != request) return;
+                searchActive = false;
+                findButton.visible = true;
+                stopButton.visible = false;
+                progressBar.progress = 1;
+                onPageLoaded(request, 1, response, e);
+            }));
+            return;
+        }
+
+        foundServers = new ArrayList<>();
+        // Keep the API future itself so that stopping the search cancels the HTTP exchange, not just a dependent stage
+        CompletableFuture<ServersResponse> future = ServerSeekerApi.servers(request, server -> MinecraftClient.getInstance().execute(() -> onServerReceived(server)));
+        searchFuture = future;
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) return;
+            if (e != null) {
+                LOG.error("Search failed", e);
+                searchError = "Network error: " + e.getMessage();
+            }
+            MinecraftClient.getInstance().execute(() -> handleSearchResponse(e == null ? response : null));
         });
     }
 
@@ -412,16 +450,31 @@ public class FindNewServersScreen extends WindowScreen {
     }
 
     private void stopSearch() {
+        searchActive = false;
         if (searchFuture != null && !searchFuture.isDone()) {
             searchFuture.cancel(true);
         }
-        searchActive = false;
+
+        // Also drop prefetched pages that are still downloading
+        pageWindow.values().forEach(page -> page.cancel(true));
+        pageWindow.clear();
+        pagedRequest = null;
+
         findButton.visible = true;
         stopButton.visible = false;
         statusLabel.set("Search stopped");
         progressBar.progress = 1;
     }
 
+    // Rows arrive while the response is still downloading, so the first page fills in before the search ends
+    private void onServerReceived(ServersResponse.Server server) {
+        if (!searchActive || foundServers == null) return;
+
+        foundServers.add(server);
+        if (foundServers.size() <= RESULTS_PER_PAGE) addServerToTable(server);
+        statusLabel.set(String.format("Searching... %d servers so far", foundServers.size()));
+    }
+
     private void handleSearchResponse(ServersResponse response) {
         searchActive = false;
         findButton.visible = true;
@@ -434,8 +487,7 @@ public class FindNewServersScreen extends WindowScreen {
             return;
         }
 
-        this.foundServers = response.data;
-        this.totalPages = (int) Math.ceil((double) foundServers.size() / RESULTS_PER_PAGE);
+        this.totalPages = Math.max(1, (int) Math.ceil((double) foundServers.size() / RESULTS_PER_PAGE));
         this.currentPage.set(1);
 
         if (foundServers.isEmpty()) {
@@ -448,13 +500,65 @@ public class FindNewServersScreen extends WindowScreen {
         displayPage(1);
     }
 
+    // Pages are requested lazily and kept in a small LRU window; identical in-flight requests are coalesced by the API client
+    private CompletableFuture<ServersResponse> fetchPage(int page) {
+        return pageWindow.computeIfAbsent(page, p -> {
+            pagedRequest.setPage(p);
+            return ServerSeekerApi.servers(pagedRequest);
+        });
+    }
+
+    private void onPageLoaded(ServersRequest request, int page, ServersResponse response, Throwable error) {
+        // Belongs to an earlier search, or the user has moved on to another page
+        if (pagedRequest != request || currentPage.get() != page) return;
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) return;
+
+        if (error != null || response == null || response.isError()) {
+            if (error != null) LOG.error("Failed to fetch page {}", page, error);
+            pageWindow.remove(page);
+            statusLabel.set(response != null && response.isError() ? response.getError() : "Network error");
+            return;
+        }
+
+        List<ServersResponse.Server> servers = response.getData() != null ? response.getData() : List.of();
+        this.totalPages = response.getTotalPages() != null ? Math.max(1, response.getTotalPages()) : 1;
+
+        if (servers.isEmpty() && page == 1) {
+            statusLabel.set("No servers found");
+            setupResultsHeader();
+            resultsTable.add(theme.label("No servers matching your criteria")).expandX();
+            return;
+        }
+
+        statusLabel.set(response.getTotalResults() != null ?
+            String.format("Found %d servers", response.getTotalResults()) :
+            String.format("Page %d", page));
+        renderPage(servers);
+
+        // Prefetch the next page while this one is being read
+        if (page < totalPages) fetchPage(page + 1);
+    }
+
     private void displayPage(int page) {
-        setupResultsHeader();
+        if (pagedRequest != null) {
+            CompletableFuture<ServersResponse> future = fetchPage(page);
+            if (!future.isDone()) statusLabel.set(String.format("Loading page %d...", page));
+            ServersRequest request = pagedRequest;
+            future.whenComplete((response, e) -> MinecraftClient.getInstance().execute(() -> onPageLoaded(request, page, response, e)));
+            return;
+        }
+
         int startIdx = (page - 1) * RESULTS_PER_PAGE;
         int endIdx = Math.min(startIdx + RESULTS_PER_PAGE, foundServers.size());
+        renderPage(foundServers.subList(startIdx, endIdx));
+    }
+
+    private void renderPage(List<ServersResponse.Server> servers) {
+        setupResultsHeader();
 
-        for (int i = startIdx; i < endIdx; i++) {
-            ServersResponse.Server server = foundServers.get(i);
+        for (ServersResponse.Server server : servers) {
             addServerToTable(server);
         }
 
@@ -541,6 +645,9 @@ public class FindNewServersScreen extends WindowScreen {
 
     private void clearResults() {
         foundServers = null;
+        pagedRequest = null;
+        pageWindow.values().forEach(page -> page.cancel(true));
+        pageWindow.clear();
         currentPage.set(1);
         totalPages = 1;
         setupResultsHeader();
@@ -564,6 +671,6 @@ public class FindNewServersScreen extends WindowScreen {
     @Override
     protected void onClosed() {
         stopSearch();
-        ServerSeeker.COUNTRY_MAP.values().forEach(Country::dispose);
+        FlagAtlas.release(this);
     }
 }
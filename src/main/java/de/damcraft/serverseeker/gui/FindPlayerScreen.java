@@ -1,6 +1,7 @@
 package de.damcraft.serverseeker.gui;
 
 import com.google.common.net.HostAndPort;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.WhereisRequest;
 import de.damcraft.serverseeker.ssapi.responses.WhereisResponse;
 import de.damcraft.serverseeker.utils.MultiplayerScreenUtil;
@@ -10,8 +11,6 @@ import meteordevelopment.meteorclient.gui.widgets.containers.WContainer;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
 import meteordevelopment.meteorclient.settings.*;
-import meteordevelopment.meteorclient.utils.network.Http;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.TitleScreen;
 import net.minecraft.client.gui.screen.multiplayer.ConnectScreen;
@@ -107,13 +106,12 @@ public class FindPlayerScreen extends WindowScreen {
                 case UUID -> request.setUuid(uuid.get());
             }
 
-            MeteorExecutor.execute(() -> {
-                WhereisResponse response = Http.post("https://api.serverseeker.net/whereis")
-                    .exceptionHandler(e -> LOG.error("Could not post to 'whereis': " + e.getMessage()))
-                    .bodyJson(request.json())
-                    .sendJson(WhereisResponse.class);
-
-                MinecraftClient.getInstance().execute(() -> {
+            ServerSeekerApi.whereis(request)
+                .exceptionally(e -> {
+                    LOG.error("Could not post to 'whereis': " + e.getMessage());
+                    return null;
+                })
+                .thenAccept(response -> MinecraftClient.getInstance().execute(() -> {
                     if (response == null) {
                         add(theme.label("Network error")).expandX();
                         return;
@@ -150,8 +148,7 @@ public class FindPlayerScreen extends WindowScreen {
                     }
 
                     load(data);
-                });
-            });
+                }));
         };
     }
 
@@ -1,8 +1,11 @@
 package de.damcraft.serverseeker.gui;
 
 import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.SmallHttp;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.ServerInfoRequest;
 import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
+import de.damcraft.serverseeker.utils.ThreadPools;
 import meteordevelopment.meteorclient.gui.GuiThemes;
 import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
@@ -10,8 +13,6 @@ import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
 import meteordevelopment.meteorclient.systems.accounts.Account;
 import meteordevelopment.meteorclient.systems.accounts.Accounts;
 import meteordevelopment.meteorclient.systems.accounts.types.CrackedAccount;
-import meteordevelopment.meteorclient.utils.network.Http;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.multiplayer.MultiplayerScreen;
 import net.minecraft.client.gui.screen.multiplayer.MultiplayerServerListWidget;
@@ -77,12 +78,12 @@ public class GetInfoScreen extends WindowScreen {
         mc.getCurrentServerEntry().icon = serverInfo.getIcon();
         mc.getCurrentServerEntry().ping = -2;
 
-        new Thread(() -> {
+        ThreadPools.IO.execute(() -> {
             try {
                 mc.getServerList().ping(mc.getCurrentServerEntry());
                 latency = mc.getCurrentServerEntry().ping;
             } catch (Exception ignored) {}
-        }).start();
+        });
     }
 
     private void fetchServerInfo(String address) {
@@ -92,13 +93,12 @@ public class GetInfoScreen extends WindowScreen {
 
         ServerInfoRequest request = new ServerInfoRequest(ServerSeeker.API_KEY, ip, port);
 
-        MeteorExecutor.execute(() -> {
-            ServerInfoResponse response = Http.post("https://api.serverseeker.net/server_info")
-                .exceptionHandler(e -> LOG.error("Could not post to 'server_info': ", e))
-                .bodyJson(request)
-                .sendJson(ServerInfoResponse.class);
-
-            MinecraftClient.getInstance().execute(() -> {
+        ServerSeekerApi.serverInfo(request)
+            .exceptionally(e -> {
+                LOG.error("Could not post to 'server_info': ", e);
+                return null;
+            })
+            .thenAccept(response -> MinecraftClient.getInstance().execute(() -> {
                 clear();
                 if (response == null) {
                     add(theme.label("Network error")).expandX();
@@ -117,15 +117,12 @@ public class GetInfoScreen extends WindowScreen {
                 serverVersion = response.version() != null ? response.version() : "Unknown";
                 fetchServerLocation(ip);
                 loadPlayers(response);
-            });
-        });
+            }));
     }
 
     private void fetchServerLocation(String ip) {
-        MeteorExecutor.execute(() -> {
-            String locationUrl = "http://ip-api.com/json/" + ip;
-            String locationResponse = Http.get(locationUrl).sendString();
-
+        String locationUrl = "http://ip-api.com/json/" + ip;
+        SmallHttp.getAsync(locationUrl).thenAccept(locationResponse -> {
             MinecraftClient.getInstance().execute(() -> {
                 if (locationResponse != null) {
                     try {
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.mojang.logging.LogUtils;
 import de.damcraft.serverseeker.SmallHttp;
+import de.damcraft.serverseeker.utils.ThreadPools;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.SharedConstants;
 import net.minecraft.client.gui.DrawContext;
@@ -14,15 +15,15 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Util;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.http.HttpResponse;
 import java.nio.file.*;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 public class InstallMeteorScreen extends Screen {
     private static final Logger LOGGER = Logger.getLogger("InstallMeteorScreen");
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
     private String statusMessage = "";
 
     public InstallMeteorScreen() {
@@ -46,7 +47,7 @@ public class InstallMeteorScreen extends Screen {
             CompletableFuture.runAsync(() -> {
                 install();
                 button.active = true;
-            });
+            }, ThreadPools.IO);
         }).dimensions(width / 2 - 150, height / 4 + 100, 300, 20).build());
 
         addDrawableChild(ButtonWidget.builder(Text.of("Manual installation"), (button) ->
@@ -89,34 +90,35 @@ public class InstallMeteorScreen extends Screen {
             return;
         }
 
-        HttpResponse<InputStream> file = SmallHttp.download(url);
-        if (file == null) {
-            setStatus("Failed to download Meteor Client.");
-            return;
-        }
-
-        String filename = file.headers().firstValue("Content-Disposition")
-            .map(header -> header.replaceAll(".*filename=\"?([^\"]+)\"?", "$1"))
-            .orElse("meteor-client.jar");
-
         Path modsFolder = FabricLoader.getInstance().getGameDir().resolve("mods");
         if (!Files.exists(modsFolder)) {
             setStatus("Mods folder not found.");
             return;
         }
 
-        Path filePath = modsFolder.resolve(filename);
-        if (Files.exists(filePath)) {
-            setStatus("Meteor Client already exists in mods folder.");
-            return;
-        }
-
+        int[] lastPercent = { -1 };
         try {
-            Files.copy(file.body(), filePath);
+            SmallHttp.download(url, modsFolder, DOWNLOAD_TIMEOUT,
+                headers -> headers.firstValue("Content-Disposition")
+                    .map(header -> header.replaceAll(".*filename=\"?([^\"]+)\"?", "$1"))
+                    .orElse("meteor-client.jar"),
+                (downloaded, total) -> {
+                    if (total <= 0) return;
+                    int percent = (int) (downloaded * 100 / total);
+                    if (percent == lastPercent[0]) return;
+                    lastPercent[0] = percent;
+                    statusMessage = "Downloading Meteor Client... " + percent + "%";
+                    client.execute(this::updateUI);
+                },
+                // The Meteor API publishes no checksum to verify against
+                null
+            );
             setStatus("Meteor Client installed successfully. Please restart the game.");
+        } catch (FileAlreadyExistsException e) {
+            setStatus("Meteor Client already exists in mods folder.");
         } catch (IOException e) {
-            LOGGER.warning("Error saving Meteor jar: " + e);
-            setStatus("Failed to save Meteor Client. Check file permissions.");
+            LOGGER.warning("Error downloading Meteor jar: " + e);
+            setStatus("Failed to download Meteor Client. Try manual installation.");
         }
     }
 
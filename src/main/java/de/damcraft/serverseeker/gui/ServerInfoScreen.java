@@ -2,14 +2,13 @@ package de.damcraft.serverseeker.gui;
 
 import com.google.common.net.HostAndPort;
 import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.ServerInfoRequest;
 import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
 import meteordevelopment.meteorclient.gui.GuiThemes;
 import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
-import meteordevelopment.meteorclient.utils.network.Http;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.TitleScreen;
 import net.minecraft.client.gui.screen.multiplayer.ConnectScreen;
@@ -39,13 +38,12 @@ public class ServerInfoScreen extends WindowScreen {
         HostAndPort hap = HostAndPort.fromString(serverIp);
         ServerInfoRequest request = new ServerInfoRequest(ServerSeeker.API_KEY, hap.getHost(), hap.getPort());
 
-        MeteorExecutor.execute(() -> {
-            ServerInfoResponse response = Http.post("https://api.serverseeker.net/server_info")
-                .exceptionHandler(e -> LOG.error("Could not post to 'server_info': ", e))
-                .bodyJson(request)
-                .sendJson(ServerInfoResponse.class);
-
-            this.client.execute(() -> {
+        ServerSeekerApi.serverInfo(request)
+            .exceptionally(e -> {
+                LOG.error("Could not post to 'server_info': ", e);
+                return null;
+            })
+            .thenAccept(response -> this.client.execute(() -> {
                 clear();
 
                 if (response == null) {
@@ -59,8 +57,7 @@ public class ServerInfoScreen extends WindowScreen {
                 }
 
                 load(response, hap);
-            });
-        });
+            }));
     }
 
     private void load(ServerInfoResponse response, HostAndPort hap) {
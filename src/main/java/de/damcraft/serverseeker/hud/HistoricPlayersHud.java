@@ -1,33 +1,42 @@
 package de.damcraft.serverseeker.hud;
 
-import de.damcraft.serverseeker.ServerSeeker;
 import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
 import de.damcraft.serverseeker.utils.HistoricPlayersUpdater;
+import de.damcraft.serverseeker.utils.PlayerListTracker;
 import meteordevelopment.meteorclient.gui.GuiThemes;
 import meteordevelopment.meteorclient.settings.*;
 import meteordevelopment.meteorclient.systems.hud.*;
 import meteordevelopment.meteorclient.utils.Utils;
-import meteordevelopment.meteorclient.utils.misc.Names;
 import meteordevelopment.meteorclient.utils.render.color.SettingColor;
-import net.minecraft.client.network.PlayerListEntry;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 public class HistoricPlayersHud extends HudElement {
     public static final HudElementInfo<HistoricPlayersHud> INFO = new HudElementInfo<>(Hud.GROUP, "historic-players", "Displays current and historic players with join times.", HistoricPlayersHud::new);
 
+    private static final int MAX_BACKOFF_SHIFT = 3; // Up to 8x the update interval while nothing changes
+    private static final int JOIN_LEAVE_UPDATE_TICKS = 10 * 20;
+
     // Data
-    private final Map<UUID, ServerInfoResponse.Player> historicPlayers = new ConcurrentHashMap<>();
+    private final PlayerRoster roster = new PlayerRoster();
+    private long playerListCursor = -1;
+    private long playerListReset = -1;
     private volatile boolean isCracked = false;
-    private volatile long lastUpdate = 0;
+
+    // Auto update scheduling, counted in ticks so nothing runs while the game is paused
+    private int ticksUntilUpdate;
+    private int unchangedUpdates;
+    private int fastUpdateCooldown; // Ticks until a join or leave may pull in a backed off update again
+    private boolean updating;
+
+    // Render model, rebuilt on the render thread when the data or settings change
+    private volatile boolean dirty = true;
+    private long modelExpiresAt;
+    private double modelTextHeight;
+    private RenderModel model = RenderModel.EMPTY;
+    private final TimeLabelCache timeLabels = new TimeLabelCache();
 
     // Settings groups
     private final SettingGroup sgGeneral = settings.getDefaultGroup();
@@ -39,6 +48,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("show-current-players")
         .description("Show players currently online")
         .defaultValue(true)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -46,6 +56,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("show-historic-players")
         .description("Show players who were previously on the server")
         .defaultValue(true)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -56,6 +67,7 @@ public class HistoricPlayersHud extends HudElement {
         .min(1)
         .max(50)
         .sliderRange(1, 20)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -68,7 +80,7 @@ public class HistoricPlayersHud extends HudElement {
 
     private final Setting<Integer> updateInterval = sgGeneral.add(new IntSetting.Builder()
         .name("update-interval")
-        .description("Seconds between updates")
+        .description("Seconds between updates, waits up to 8x longer while nothing changes")
         .defaultValue(60)
         .min(10)
         .visible(autoUpdate::get)
@@ -87,6 +99,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("show-header")
         .description("Show the 'Players' header")
         .defaultValue(true)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -94,6 +107,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("show-cracked-status")
         .description("Show server cracked status")
         .defaultValue(true)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -101,6 +115,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("show-more-indicator")
         .description("Show '...and X more' when limited")
         .defaultValue(true)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -109,6 +124,7 @@ public class HistoricPlayersHud extends HudElement {
         .name("time-format")
         .description("How to display last seen times")
         .defaultValue(Format.RELATIVE)
+        .onChanged(value -> invalidate())
         .build()
     );
 
@@ -117,6 +133,10 @@ public class HistoricPlayersHud extends HudElement {
         .description("Custom datetime format (when time format is Custom)")
         .defaultValue("MMM dd HH:mm")
         .visible(() -> timeFormat.get() == Format.CUSTOM)
+        .onChanged(value -> {
+            timeLabels.clear();
+            invalidate();
+        })
         .build()
     );
 
@@ -150,150 +170,167 @@ public class HistoricPlayersHud extends HudElement {
 
     public HistoricPlayersHud() {
         super(INFO);
-        ServerSeeker.EXECUTOR.submit(this::updateData);
     }
 
     public void updatePlayers(List<ServerInfoResponse.Player> players, boolean cracked) {
-        historicPlayers.clear();
-        players.forEach(p -> historicPlayers.put(UUID.fromString(p.uuid()), p));
+        boolean changed = roster.updateHistoric(players, System.currentTimeMillis() / 1000) || cracked != isCracked;
         this.isCracked = cracked;
-        this.lastUpdate = System.currentTimeMillis();
+        if (changed) invalidate();
+
+        unchangedUpdates = changed ? 0 : unchangedUpdates + 1;
+    }
+
+    /**
+     * Marks the render model as stale, it is rebuilt on the next frame.
+     */
+    private void invalidate() {
+        dirty = true;
     }
 
     @Override
     public void tick(HudRenderer renderer) {
-        if (autoUpdate.get() && System.currentTimeMillis() - lastUpdate > updateInterval.get() * 1000L) {
-            updateData();
+        syncPlayerList();
+
+        if (!autoUpdate.get() || !isActive() || mc.isPaused() || mc.getNetworkHandler() == null) return;
+        if (fastUpdateCooldown > 0) fastUpdateCooldown--;
+        if (updating || --ticksUntilUpdate > 0) return;
+
+        updateData();
+    }
+
+    /**
+     * Applies the joins and leaves seen since the last tick.
+     */
+    private void syncPlayerList() {
+        long cursor = PlayerListTracker.poll(playerListCursor, this::onPlayerListChange);
+        if (cursor == -1) {
+            long reset = PlayerListTracker.lastReset();
+            if (reset != playerListReset) {
+                // Joined or left a server, nothing seen on the previous one belongs here
+                playerListReset = reset;
+                roster.clear();
+                ticksUntilUpdate = Math.min(ticksUntilUpdate, JOIN_LEAVE_UPDATE_TICKS);
+            } else {
+                roster.clearCurrent();
+            }
+
+            cursor = PlayerListTracker.snapshot(roster::join);
+            unchangedUpdates = 0;
+            invalidate();
+        }
+        playerListCursor = cursor;
+    }
+
+    private void onPlayerListChange(PlayerListTracker.Change change) {
+        if (change.joined()) roster.join(change.id(), change.name());
+        else roster.leave(change.id(), System.currentTimeMillis() / 1000);
+        invalidate();
+
+        // Someone joined or left, so the API is likely to have something new soon. Only an update that was backed off past
+        // the interval is pulled in, at most once per interval, so busy servers are not polled any faster than usual
+        int interval = updateInterval.get() * 20;
+        if (fastUpdateCooldown <= 0 && ticksUntilUpdate > interval) {
+            ticksUntilUpdate = JOIN_LEAVE_UPDATE_TICKS;
+            fastUpdateCooldown = interval;
         }
     }
 
     private void updateData() {
-        HistoricPlayersUpdater.update().thenAccept(updated -> {
-            if (updated) lastUpdate = System.currentTimeMillis();
-        });
+        updating = true;
+        HistoricPlayersUpdater.update().whenComplete((updated, e) -> mc.execute(() -> {
+            updating = false;
+            scheduleNextUpdate(updated != null && updated);
+        }));
+    }
+
+    /**
+     * Waits longer after every update that brought nothing new, up to {@link #MAX_BACKOFF_SHIFT} doublings.
+     */
+    private void scheduleNextUpdate(boolean updated) {
+        int interval = updateInterval.get() * 20;
+        ticksUntilUpdate = updated ? interval << Math.min(unchangedUpdates, MAX_BACKOFF_SHIFT) : interval;
     }
 
     @Override
     public void render(HudRenderer renderer) {
         super.render(renderer);
 
-        List<PlayerInfo> players = collectPlayers();
-        if (players.isEmpty() && !showHeader.get()) return;
+        // Relative times age, so the model is also rebuilt once the first label changes
+        long now = System.currentTimeMillis();
+        if (dirty || now >= modelExpiresAt || renderer.textHeight() != modelTextHeight) rebuildModel(renderer, now);
+
+        RenderModel model = this.model;
+        if (model.rowCount == 0 && model.header == null && model.footer == null) return;
 
-        double width = 0;
         double height = 0;
-        int line = 0;
+        double lineHeight = renderer.textHeight();
 
-        // Render header
-        if (showHeader.get()) {
-            String header = "Players" + (isCracked && showCrackedStatus.get() ? " (Cracked)" : "");
-            width = renderer.textWidth(header);
-            renderer.text(header, x + alignX(width, alignment.get()), y, GuiThemes.get().textColor(), true);
-            height += renderer.textHeight();
-            line++;
+        if (model.header != null) {
+            renderer.text(model.header, x + alignX(model.headerWidth, alignment.get()), y, GuiThemes.get().textColor(), true);
+            height += lineHeight;
         }
 
-        // Render players
-        int moreCount = Math.max(0, players.size() - limit.get());
-        int renderCount = Math.min(limit.get(), players.size());
-
-        for (int i = 0; i < renderCount; i++) {
-            PlayerInfo player = players.get(i);
-            String name = player.name();
-            String timeText = formatTime(player.lastSeen());
+        for (int i = 0; i < model.rowCount; i++) {
+            double xOffset = alignX(model.rowWidths[i], alignment.get());
 
-            double nameWidth = renderer.textWidth(name);
-            double timeWidth = renderer.textWidth(timeText);
-            double totalWidth = nameWidth + timeWidth + 3; // +3 for space between
-
-            width = Math.max(width, totalWidth);
-            double xOffset = alignX(totalWidth, alignment.get());
-
-            renderer.text(name, x + xOffset, y + height, player.isCurrent() ? currentColor.get() : historicColor.get(), true);
-            renderer.text(" " + timeText, x + xOffset + nameWidth, y + height, timeColor.get(), true);
-            height += renderer.textHeight();
-            line++;
-        }
-
-        // Render "more" indicator
-        if (moreCount > 0 && showMoreIndicator.get()) {
-            String moreText = "... and " + moreCount + " more";
-            double moreWidth = renderer.textWidth(moreText);
-            width = Math.max(width, moreWidth);
-            renderer.text(moreText, x + alignX(moreWidth, alignment.get()), y + height, GuiThemes.get().textColor(), true);
-            height += renderer.textHeight();
+            renderer.text(model.names[i], x + xOffset, y + height, model.current[i] ? currentColor.get() : historicColor.get(), true);
+            renderer.text(model.timeLabels[i], x + xOffset + model.nameWidths[i], y + height, timeColor.get(), true);
+            height += lineHeight;
         }
 
-        // Render cracked status
-        if (isCracked && showCrackedStatus.get() && line == 0) {
-            String crackedText = "Cracked Server";
-            width = renderer.textWidth(crackedText);
-            renderer.text(crackedText, x + alignX(width, alignment.get()), y + height, crackedColor.get(), true);
-            height += renderer.textHeight();
+        if (model.footer != null) {
+            renderer.text(model.footer, x + alignX(model.footerWidth, alignment.get()), y + height, model.footerCracked ? crackedColor.get() : GuiThemes.get().textColor(), true);
+            height += lineHeight;
         }
 
-        box.setSize(width, height);
+        box.setSize(model.width, height);
     }
 
-    private List<PlayerInfo> collectPlayers() {
-        List<PlayerInfo> players = new ArrayList<>();
+    private void rebuildModel(HudRenderer renderer, long now) {
+        dirty = false;
+        modelTextHeight = renderer.textHeight();
 
-        // Add current players
-        if (showCurrentPlayers.get() && mc.getNetworkHandler() != null) {
-            mc.getNetworkHandler().getPlayerList().forEach(entry -> {
-                String name = Names.get(entry.getProfile());
-                players.add(new PlayerInfo(name, System.currentTimeMillis() / 1000, true));
-                historicPlayers.remove(entry.getProfile().getId());
-            });
-        }
+        int total = roster.size(showCurrentPlayers.get(), showHistoricPlayers.get());
+        int rowCount = Math.min(limit.get(), total);
+        int moreCount = total - rowCount;
+
+        RenderModel model = new RenderModel(rowCount);
+        long nowSeconds = now / 1000;
+        Format format = timeFormat.get();
+        String pattern = customFormat.get();
+        timeLabels.beginRebuild();
 
-        // Add historic players
-        if (showHistoricPlayers.get()) {
-            historicPlayers.values().stream()
-                .sorted(Comparator.comparing(ServerInfoResponse.Player::lastSeen).reversed())
-                .forEach(p -> players.add(new PlayerInfo(p.name(), p.lastSeen(), false)));
+        if (showHeader.get()) {
+            model.header = "Players" + (isCracked && showCrackedStatus.get() ? " (Cracked)" : "");
+            model.headerWidth = TextWidthCache.width(renderer, model.header);
+            model.width = model.headerWidth;
         }
 
-        return players;
-    }
+        roster.forEach(showCurrentPlayers.get(), showHistoricPlayers.get(), rowCount, nowSeconds, (name, lastSeen, current) -> {
+            int i = model.filled++;
+            model.names[i] = name;
+            model.timeLabels[i] = " " + timeLabels.get(lastSeen, nowSeconds, format, pattern);
+            model.current[i] = current;
+            model.nameWidths[i] = TextWidthCache.width(renderer, name);
+            model.rowWidths[i] = model.nameWidths[i] + TextWidthCache.width(renderer, model.timeLabels[i]);
+            model.width = Math.max(model.width, model.rowWidths[i]);
+            if (!current) model.nextChange = Math.min(model.nextChange, TimeLabelCache.nextChange(lastSeen, nowSeconds, format));
+        });
 
-    private String formatTime(long lastSeen) {
-        Instant instant = Instant.ofEpochSecond(lastSeen);
-        Duration duration = Duration.between(instant, Instant.now());
-
-        switch (timeFormat.get()) {
-            case RELATIVE_SHORT: return formatRelativeTimeShort(duration);
-            case RELATIVE_LONG: return formatRelativeTimeLong(duration);
-            case ABSOLUTE: return DateTimeFormatter.ofPattern("MMM dd HH:mm").format(instant.atZone(ZoneId.systemDefault()));
-            case CUSTOM: return DateTimeFormatter.ofPattern(customFormat.get()).format(instant.atZone(ZoneId.systemDefault()));
-            case RELATIVE:
-            default: return formatRelativeTime(duration);
+        if (moreCount > 0 && showMoreIndicator.get()) {
+            model.footer = "... and " + moreCount + " more";
+        } else if (isCracked && showCrackedStatus.get() && model.header == null && rowCount == 0) {
+            model.footer = "Cracked Server";
+            model.footerCracked = true;
         }
-    }
-
-    private String formatRelativeTime(Duration duration) {
-        if (duration.toDays() > 365) return (duration.toDays() / 365) + "y";
-        if (duration.toDays() > 30) return (duration.toDays() / 30) + "mo";
-        if (duration.toDays() > 0) return duration.toDays() + "d";
-        if (duration.toHours() > 0) return duration.toHours() + "h";
-        if (duration.toMinutes() > 0) return duration.toMinutes() + "m";
-        return duration.getSeconds() + "s";
-    }
 
-    private String formatRelativeTimeShort(Duration duration) {
-        if (duration.toDays() > 0) return "<" + (duration.toDays() + 1) + "d";
-        if (duration.toHours() > 0) return "<" + (duration.toHours() + 1) + "h";
-        if (duration.toMinutes() > 0) return "<" + (duration.toMinutes() + 1) + "m";
-        return "<1m";
-    }
+        if (model.footer != null) {
+            model.footerWidth = TextWidthCache.width(renderer, model.footer);
+            model.width = Math.max(model.width, model.footerWidth);
+        }
 
-    private String formatRelativeTimeLong(Duration duration) {
-        if (duration.toDays() > 365) return (duration.toDays() / 365) + " years ago";
-        if (duration.toDays() > 30) return (duration.toDays() / 30) + " months ago";
-        if (duration.toDays() > 0) return duration.toDays() + " days ago";
-        if (duration.toHours() > 0) return duration.toHours() + " hours ago";
-        if (duration.toMinutes() > 0) return duration.toMinutes() + " minutes ago";
-        return "just now";
+        this.model = model;
+        modelExpiresAt = model.nextChange == Long.MAX_VALUE ? Long.MAX_VALUE : model.nextChange * 1000;
     }
 
     private double alignX(double width, Alignment alignment) {
@@ -304,7 +341,36 @@ public class HistoricPlayersHud extends HudElement {
         };
     }
 
-    private record PlayerInfo(String name, long lastSeen, boolean isCurrent) {}
+    /**
+     * Everything {@link #render} draws, with text and widths already resolved.
+     */
+    private static final class RenderModel {
+        private static final RenderModel EMPTY = new RenderModel(0);
+
+        private final int rowCount;
+        private final String[] names;
+        private final String[] timeLabels;
+        private final boolean[] current;
+        private final double[] nameWidths;
+        private final double[] rowWidths;
+        private int filled;
+        private long nextChange = Long.MAX_VALUE;
+        private String header;
+        private double headerWidth;
+        private String footer;
+        private double footerWidth;
+        private boolean footerCracked;
+        private double width;
+
+        private RenderModel(int rowCount) {
+            this.rowCount = rowCount;
+            this.names = new String[rowCount];
+            this.timeLabels = new String[rowCount];
+            this.current = new boolean[rowCount];
+            this.nameWidths = new double[rowCount];
+            this.rowWidths = new double[rowCount];
+        }
+    }
 
     public enum Format {
         RELATIVE("Relative (1h 30m)"),
@@ -0,0 +1,104 @@
+package de.damcraft.serverseeker.hud;
+
+import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
+import de.damcraft.serverseeker.utils.PlayerHistoryStore;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Current and historic players of a server in display order: current players in join order,
+ * then historic players, most recently seen first. A historic player that is currently online is only listed once.
+ * Joins, leaves and API updates only touch the players that changed, so staying up to date costs O(changes) rather than O(players).
+ * Only used from the client thread.
+ */
+final class PlayerRoster {
+    private final Map<UUID, String> current = new LinkedHashMap<>();
+    private final PlayerHistoryStore historic = new PlayerHistoryStore();
+    private int onlineHistoric; // Historic players that are also current
+
+    void join(UUID id, String name) {
+        if (current.put(id, name) == null && isHistoric(id)) onlineHistoric++;
+    }
+
+    /**
+     * Removes a current player and keeps them as a historic player seen at {@code now}.
+     */
+    void leave(UUID id, long now) {
+        String name = current.remove(id);
+        if (name == null) return;
+
+        if (isHistoric(id)) onlineHistoric--;
+        historic.pin(id.getMostSignificantBits(), id.getLeastSignificantBits(), name, (int) now);
+    }
+
+    void clearCurrent() {
+        current.clear();
+        onlineHistoric = 0;
+    }
+
+    /**
+     * Forgets every player, e.g. after joining another server.
+     */
+    void clear() {
+        clearCurrent();
+        historic.clear();
+    }
+
+    /**
+     * Merges a fresh player list from the API into the historic players, players that left locally are kept for a while.
+     *
+     * @return whether anything changed
+     */
+    boolean updateHistoric(List<ServerInfoResponse.Player> players, long now) {
+        if (!historic.merge(players, (int) now)) return false;
+
+        onlineHistoric = 0;
+        for (UUID id : current.keySet()) {
+            if (isHistoric(id)) onlineHistoric++;
+        }
+        return true;
+    }
+
+    int size(boolean showCurrent, boolean showHistoric) {
+        int size = 0;
+        if (showCurrent) size += current.size();
+        if (showHistoric) size += historic.size() - (showCurrent ? onlineHistoric : 0);
+        return size;
+    }
+
+    /**
+     * Hands up to {@code limit} players to the consumer in display order. Current players are reported as seen at {@code now}.
+     */
+    void forEach(boolean showCurrent, boolean showHistoric, int limit, long now, RowConsumer consumer) {
+        int[] count = { 0 };
+
+        if (showCurrent) {
+            for (String name : current.values()) {
+                if (count[0]++ >= limit) return;
+                consumer.accept(name, now, true);
+            }
+        }
+
+        if (showHistoric) {
+            boolean skipOnline = showCurrent && onlineHistoric > 0;
+            historic.forEachByLastSeen(index -> {
+                if (skipOnline && current.containsKey(new UUID(historic.mostSigBits(index), historic.leastSigBits(index)))) return true;
+                if (count[0]++ >= limit) return false;
+                consumer.accept(historic.name(index), historic.lastSeen(index), false);
+                return true;
+            });
+        }
+    }
+
+    private boolean isHistoric(UUID id) {
+        return historic.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+    }
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(String name, long lastSeen, boolean current);
+    }
+}
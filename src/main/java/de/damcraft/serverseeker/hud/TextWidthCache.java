@@ -0,0 +1,42 @@
+package de.damcraft.serverseeker.hud;
+
+import meteordevelopment.meteorclient.systems.hud.HudRenderer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Text widths measured by the HUD elements, so the same strings aren't summed glyph by glyph every time.
+ * Widths depend on the text scale, so the whole cache is dropped when it changes.
+ * Only used from the render thread.
+ */
+public final class TextWidthCache {
+    private static final int MAX_ENTRIES = 512;
+
+    private static final Map<String, Double> WIDTHS = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // Line height is used as the scale, it changes with both the text scale and the font
+    private static double scale = -1;
+
+    private TextWidthCache() {} // Prevent instantiation
+
+    public static double width(HudRenderer renderer, String text) {
+        double currentScale = renderer.textHeight();
+        if (currentScale != scale) {
+            WIDTHS.clear();
+            scale = currentScale;
+        }
+
+        Double width = WIDTHS.get(text);
+        if (width == null) {
+            width = renderer.textWidth(text);
+            WIDTHS.put(text, width);
+        }
+        return width;
+    }
+}
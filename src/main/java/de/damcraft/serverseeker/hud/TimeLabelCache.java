@@ -0,0 +1,151 @@
+package de.damcraft.serverseeker.hud;
+
+import de.damcraft.serverseeker.ServerSeeker;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Formats "last seen" labels for {@link HistoricPlayersHud}.
+ * Labels are cached by (lastSeen, format, bucket), where the bucket is the value shown in the current unit,
+ * so a label like "5m" is only formatted again once it turns into "6m".
+ * Only entries used during the last two rebuilds are kept.
+ */
+final class TimeLabelCache {
+    private static final long MINUTE = 60;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long MONTH = 30 * DAY;
+    private static final long YEAR = 365 * DAY;
+
+    private static final DateTimeFormatter ABSOLUTE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd HH:mm");
+
+    private Map<Key, String> labels = new HashMap<>();
+    private Map<Key, String> previous = new HashMap<>();
+
+    // Only the current pattern is kept, the setting changes on every keystroke while it is being typed
+    private String customPattern;
+    private DateTimeFormatter customFormatter;
+
+    /**
+     * Starts a new generation, labels not requested since the previous call are dropped.
+     */
+    void beginRebuild() {
+        previous = labels;
+        labels = new HashMap<>();
+    }
+
+    /**
+     * Drops all labels, e.g. after the custom pattern changed.
+     */
+    void clear() {
+        labels.clear();
+        previous.clear();
+        customPattern = null;
+        customFormatter = null;
+    }
+
+    String get(long lastSeen, long now, HistoricPlayersHud.Format format, String pattern) {
+        long elapsed = Math.max(0, now - lastSeen);
+        long unit = unit(format, elapsed);
+        Key key = new Key(lastSeen, format, unit, unit == 0 ? 0 : elapsed / unit);
+
+        String label = labels.get(key);
+        if (label != null) return label;
+
+        label = previous.get(key);
+        if (label == null) label = format(lastSeen, elapsed, format, pattern);
+        labels.put(key, label);
+        return label;
+    }
+
+    /**
+     * @return the epoch second at which the label for {@code lastSeen} changes, {@link Long#MAX_VALUE} if it never does
+     */
+    static long nextChange(long lastSeen, long now, HistoricPlayersHud.Format format) {
+        long elapsed = Math.max(0, now - lastSeen);
+        long unit = unit(format, elapsed);
+        if (unit == 0) return Long.MAX_VALUE;
+
+        long next = (elapsed / unit + 1) * unit;
+        // Months don't line up with the one year threshold
+        if (unit == MONTH) next = Math.min(next, YEAR + DAY);
+        return lastSeen + next;
+    }
+
+    /**
+     * @return the size of the unit shown for the given age in seconds, 0 for absolute formats
+     */
+    private static long unit(HistoricPlayersHud.Format format, long elapsed) {
+        return switch (format) {
+            case ABSOLUTE, CUSTOM -> 0;
+            case RELATIVE_SHORT -> elapsed >= DAY ? DAY : elapsed >= HOUR ? HOUR : MINUTE;
+            case RELATIVE_LONG -> relativeUnit(elapsed, MINUTE);
+            case RELATIVE -> relativeUnit(elapsed, 1);
+        };
+    }
+
+    private static long relativeUnit(long elapsed, long smallest) {
+        if (elapsed >= YEAR + DAY) return YEAR;
+        if (elapsed >= MONTH + DAY) return MONTH;
+        if (elapsed >= DAY) return DAY;
+        if (elapsed >= HOUR) return HOUR;
+        if (elapsed >= MINUTE) return MINUTE;
+        return smallest;
+    }
+
+    private String format(long lastSeen, long elapsed, HistoricPlayersHud.Format format, String pattern) {
+        return switch (format) {
+            case RELATIVE_SHORT -> formatRelativeShort(elapsed);
+            case RELATIVE_LONG -> formatRelativeLong(elapsed);
+            case ABSOLUTE -> ABSOLUTE_FORMATTER.format(Instant.ofEpochSecond(lastSeen).atZone(ZoneId.systemDefault()));
+            case CUSTOM -> customFormatter(pattern).format(Instant.ofEpochSecond(lastSeen).atZone(ZoneId.systemDefault()));
+            case RELATIVE -> formatRelative(elapsed);
+        };
+    }
+
+    private DateTimeFormatter customFormatter(String pattern) {
+        if (pattern.equals(customPattern)) return customFormatter;
+
+        customPattern = pattern;
+        try {
+            customFormatter = DateTimeFormatter.ofPattern(pattern);
+        } catch (IllegalArgumentException e) {
+            ServerSeeker.LOG.warn("Invalid time format '{}', falling back to the absolute format", pattern);
+            customFormatter = ABSOLUTE_FORMATTER;
+        }
+        return customFormatter;
+    }
+
+    private static String formatRelative(long elapsed) {
+        long days = elapsed / DAY;
+        if (days > 365) return (days / 365) + "y";
+        if (days > 30) return (days / 30) + "mo";
+        if (days > 0) return days + "d";
+        if (elapsed >= HOUR) return (elapsed / HOUR) + "h";
+        if (elapsed >= MINUTE) return (elapsed / MINUTE) + "m";
+        return elapsed + "s";
+    }
+
+    private static String formatRelativeShort(long elapsed) {
+        if (elapsed >= DAY) return "<" + (elapsed / DAY + 1) + "d";
+        if (elapsed >= HOUR) return "<" + (elapsed / HOUR + 1) + "h";
+        if (elapsed >= MINUTE) return "<" + (elapsed / MINUTE + 1) + "m";
+        return "<1m";
+    }
+
+    private static String formatRelativeLong(long elapsed) {
+        long days = elapsed / DAY;
+        if (days > 365) return (days / 365) + " years ago";
+        if (days > 30) return (days / 30) + " months ago";
+        if (days > 0) return days + " days ago";
+        if (elapsed >= HOUR) return (elapsed / HOUR) + " hours ago";
+        if (elapsed >= MINUTE) return (elapsed / MINUTE) + " minutes ago";
+        return "just now";
+    }
+
+    private record Key(long lastSeen, HistoricPlayersHud.Format format, long unit, long bucket) {}
+}
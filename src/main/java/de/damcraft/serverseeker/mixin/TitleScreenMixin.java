@@ -2,6 +2,7 @@ package de.damcraft.serverseeker.mixin;
 
 import de.damcraft.serverseeker.ServerSeeker;
 import de.damcraft.serverseeker.gui.InstallMeteorScreen;
+import de.damcraft.serverseeker.utils.ThreadPools;
 import de.damcraft.serverseeker.utils.UpdateChecker;
 import meteordevelopment.meteorclient.utils.render.prompts.OkPrompt;
 import meteordevelopment.meteorclient.utils.render.prompts.YesNoPrompt;
@@ -20,7 +21,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.concurrent.CompletableFuture;
 
 @Mixin(TitleScreen.class)
 public abstract class TitleScreenMixin {
@@ -59,7 +59,7 @@ public abstract class TitleScreenMixin {
         if (lastUpdateCheck.plus(UPDATE_CHECK_INTERVAL).isAfter(now)) return;
 
         lastUpdateCheck = now;
-        CompletableFuture.runAsync(() -> {
+        ThreadPools.IO.execute(() -> {
             UpdateChecker.UpdateInfo updateInfo = UpdateChecker.checkForUpdates();
             if (updateInfo.isUpdateAvailable()) {
                 MinecraftClient.getInstance().execute(() -> {
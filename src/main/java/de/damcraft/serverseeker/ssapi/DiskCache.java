@@ -0,0 +1,121 @@
+package de.damcraft.serverseeker.ssapi;
+
+import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.utils.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped JSON cache of API responses that survives restarts.
+ * Entries are keyed by a hash of the request; once the directory grows past its size limit the oldest entries are deleted.
+ * All file access happens on {@link ThreadPools#IO}.
+ */
+public final class DiskCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DiskCache.class);
+    private static final String EXTENSION = ".json.gz";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public DiskCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return a future completing with the cached value, or {@code null} if there is none
+     */
+    public <T> CompletableFuture<T> read(String key, Class<T> type) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = fileFor(key);
+            try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+                return ServerSeeker.GSON.fromJson(reader, type);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (Exception e) {
+                LOG.debug("Dropping unreadable cache entry {}", file, e);
+                delete(file);
+                return null;
+            }
+        }, ThreadPools.IO);
+    }
+
+    public void write(String key, Object value) {
+        ThreadPools.IO.execute(() -> {
+            Path file = fileFor(key);
+            try {
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, "entry", ".tmp");
+                try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                    ServerSeeker.GSON.toJson(value, writer);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                trim();
+            } catch (IOException e) {
+                LOG.debug("Could not write cache entry {}", file, e);
+            }
+        });
+    }
+
+    private synchronized void trim() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(EXTENSION)) continue;
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                total += attributes.size();
+            }
+        }
+
+        if (total <= maxBytes) return;
+
+        entries.sort(Comparator.comparingLong(Entry::modified));
+        for (Entry entry : entries) {
+            if (total <= maxBytes) break;
+            delete(entry.file());
+            total -= entry.size();
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {}
+    }
+
+    private record Entry(Path file, long size, long modified) {}
+}
@@ -0,0 +1,50 @@
+package de.damcraft.serverseeker.ssapi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiter. Callers reserve a token and are told how long to wait before using it,
+ * so nothing ever blocks a thread while waiting for capacity.
+ */
+public final class RateLimiter {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    /**
+     * @param capacity maximum burst size
+     * @param tokensPerSecond sustained request rate
+     */
+    public RateLimiter(int capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return milliseconds to wait before sending, 0 if the request may go out now
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        tokens -= 1;
+
+        long waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        waitNanos = Math.max(waitNanos, pausedUntil - now);
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, waitNanos));
+    }
+
+    /**
+     * Holds back every request for the given time, e.g. after the server answered with Retry-After.
+     */
+    public synchronized void pause(long millis) {
+        pausedUntil = Math.max(pausedUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
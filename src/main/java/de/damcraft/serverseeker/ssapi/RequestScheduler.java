@@ -0,0 +1,145 @@
+package de.damcraft.serverseeker.ssapi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Schedules API calls on two priority lanes, each with its own concurrency cap.
+ * Queued interactive calls always start before queued background calls, and background calls
+ * only start while no interactive call is waiting.
+ */
+public final class RequestScheduler {
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final int interactiveLimit;
+    private final int backgroundLimit;
+    private final Deque<Task<?>> interactiveQueue = new ArrayDeque<>();
+    private final Deque<Task<?>> backgroundQueue = new ArrayDeque<>();
+    private int interactiveRunning;
+    private int backgroundRunning;
+
+    public RequestScheduler(int interactiveLimit, int backgroundLimit) {
+        this.interactiveLimit = interactiveLimit;
+        this.backgroundLimit = backgroundLimit;
+    }
+
+    /**
+     * Queues a call. The supplier is invoked once a slot on the given lane is free.
+     * Cancelling the returned future removes the call from the queue, or cancels it if it already started.
+     */
+    public <T> CompletableFuture<T> submit(Priority priority, Supplier<CompletableFuture<T>> call) {
+        Task<T> task = new Task<>(priority, call);
+        task.result.whenComplete((response, e) -> {
+            if (task.result.isCancelled()) cancel(task);
+        });
+
+        synchronized (this) {
+            queueFor(priority).add(task);
+        }
+        drain();
+
+        return task.result;
+    }
+
+    /**
+     * Moves a queued background call to the interactive lane, e.g. when a user starts waiting on it.
+     */
+    public void promote(CompletableFuture<?> result) {
+        synchronized (this) {
+            for (Task<?> task : backgroundQueue) {
+                if (task.result != result) continue;
+                backgroundQueue.remove(task);
+                task.priority = Priority.INTERACTIVE;
+                interactiveQueue.add(task);
+                break;
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Task<?>> toStart = new ArrayList<>();
+
+        synchronized (this) {
+            Task<?> task;
+            while ((task = next()) != null) {
+                if (task.priority == Priority.INTERACTIVE) interactiveRunning++;
+                else backgroundRunning++;
+                toStart.add(task);
+            }
+        }
+
+        // Start outside the lock, the supplier may complete synchronously
+        toStart.forEach(Task::start);
+    }
+
+    private Task<?> next() {
+        if (!interactiveQueue.isEmpty()) {
+            return interactiveRunning < interactiveLimit ? interactiveQueue.poll() : null;
+        }
+        return backgroundRunning < backgroundLimit ? backgroundQueue.poll() : null;
+    }
+
+    private void finished(Task<?> task) {
+        synchronized (this) {
+            if (task.priority == Priority.INTERACTIVE) interactiveRunning--;
+            else backgroundRunning--;
+        }
+        drain();
+    }
+
+    private void cancel(Task<?> task) {
+        boolean queued;
+        synchronized (this) {
+            queued = queueFor(task.priority).remove(task);
+        }
+
+        if (!queued) {
+            CompletableFuture<?> inner = task.inner;
+            if (inner != null) inner.cancel(true);
+        }
+    }
+
+    private Deque<Task<?>> queueFor(Priority priority) {
+        return priority == Priority.INTERACTIVE ? interactiveQueue : backgroundQueue;
+    }
+
+    private final class Task<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Supplier<CompletableFuture<T>> call;
+        private Priority priority; // Guarded by the scheduler, fixed once the task has started
+        private volatile CompletableFuture<T> inner;
+
+        private Task(Priority priority, Supplier<CompletableFuture<T>> call) {
+            this.priority = priority;
+            this.call = call;
+        }
+
+        private void start() {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                finished(this);
+                return;
+            }
+
+            inner = started;
+            if (result.isCancelled()) started.cancel(true);
+
+            started.whenComplete((response, e) -> {
+                finished(this);
+                if (e != null) result.completeExceptionally(e);
+                else result.complete(response);
+            });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.damcraft.serverseeker.ssapi;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache for API responses.
+ * Entries expire after a configurable time to live, and the least recently used entry is evicted once the cache is full.
+ */
+public final class ResponseCache<K, V> {
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile long ttlMillis;
+    private volatile int maxSize;
+
+    public ResponseCache(Duration ttl, int maxSize) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ResponseCache.this.maxSize;
+            }
+        };
+    }
+
+    @Nullable
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || System.currentTimeMillis() - entry.createdAt() > ttlMillis) {
+            if (entry != null) entries.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+
+        // Trim from the least recently used end
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private record Entry<V>(V value, long createdAt) {}
+}
@@ -0,0 +1,418 @@
+package de.damcraft.serverseeker.ssapi;
+
+import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.SmallHttp;
+import de.damcraft.serverseeker.ssapi.RequestScheduler.Priority;
+import de.damcraft.serverseeker.ssapi.requests.ServerInfoRequest;
+import de.damcraft.serverseeker.ssapi.requests.ServersRequest;
+import de.damcraft.serverseeker.ssapi.requests.WhereisRequest;
+import de.damcraft.serverseeker.ssapi.responses.ApiResponse;
+import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
+import de.damcraft.serverseeker.ssapi.responses.ServersResponse;
+import de.damcraft.serverseeker.ssapi.responses.WhereisResponse;
+import de.damcraft.serverseeker.utils.ThreadPools;
+import net.fabricmc.loader.api.FabricLoader;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Typed client for the ServerSeeker API.
+ * Every call goes through the shared HTTP/2 client in {@link SmallHttp}, so connections are reused across screens.
+ * Returned futures complete exceptionally on network errors; API errors are reported through the response itself.
+ * Cancelling a returned future aborts the underlying HTTP exchange once no other caller is waiting on it.
+ */
+public final class ServerSeekerApi {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    // Retry settings for rate limits, gateway errors and network failures
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 8000;
+
+    // One token bucket per API key: bursts of 10, 2 requests per second sustained
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    // Shared by every screen, command and HUD that asks for the same server
+    public static final ResponseCache<String, ServerInfoResponse> SERVER_INFO_CACHE = new ResponseCache<>(Duration.ofSeconds(30), 128);
+
+    // Parsed bodies of earlier responses, reused when the API answers 304 Not Modified
+    private static final ResponseCache<String, Object> NOT_MODIFIED_CACHE = new ResponseCache<>(Duration.ofHours(1), 256);
+
+    // Last known responses, shown straight away after a restart while a fresh request is made, and served when the API cannot be reached
+    private static final DiskCache DISK_CACHE = new DiskCache(
+        FabricLoader.getInstance().getGameDir().resolve("serverseeker").resolve("cache"),
+        8 * 1024 * 1024
+    );
+
+    // User-facing calls get their own lane so background refreshes never hold them up
+    private static final RequestScheduler SCHEDULER = new RequestScheduler(4, 1);
+
+    // Requests currently on the wire, keyed by endpoint and serialized body
+    private static final Map<String, InFlight<?>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private ServerSeekerApi() {} // Prevent instantiation
+
+    public static CompletableFuture<ServersResponse> servers(ServersRequest request) {
+        String json = ServerSeeker.GSON.toJson(request);
+        return withDiskCache("/servers", json, ServersResponse.class, post("/servers", json, ServersResponse.class, Priority.INTERACTIVE), null);
+    }
+
+    /**
+     * Streams the search results, handing each server to {@code onServer} as soon as it is parsed.
+     * The returned response carries the page metadata only.
+     */
+    public static CompletableFuture<ServersResponse> servers(ServersRequest request, Consumer<ServersResponse.Server> onServer) {
+        String json = ServerSeeker.GSON.toJson(request);
+        return SCHEDULER.submit(Priority.INTERACTIVE, () -> streamServers(json, onServer));
+    }
+
+    private static CompletableFuture<ServersResponse> streamServers(String json, Consumer<ServersResponse.Server> onServer) {
+        CompletableFuture<ServersResponse> result = new CompletableFuture<>();
+        AtomicReference<InputStream> body = new AtomicReference<>();
+
+        CompletableFuture<HttpResponse<InputStream>> exchange = sendWithRetry(() -> SmallHttp.sendPostStreamAsync(ServerSeeker.getApiUrl("/servers"), json, DEFAULT_TIMEOUT));
+        exchange.thenAcceptAsync(response -> {
+            body.set(response.body());
+            // Cancelled while waiting for the headers
+            if (result.isDone()) {
+                closeQuietly(response.body());
+                return;
+            }
+
+            try (Reader reader = new InputStreamReader(SmallHttp.decodedBody(response), StandardCharsets.UTF_8)) {
+                result.complete(ServersResponseReader.read(reader, server -> {
+                    if (result.isDone()) throw new CancellationException();
+                    onServer.accept(server);
+                }));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, ThreadPools.IO).exceptionally(e -> {
+            result.completeExceptionally(e);
+            return null;
+        });
+
+        // Abort the exchange and close the body so the connection is released and parsing stops
+        result.whenComplete((response, e) -> {
+            if (!result.isCancelled()) return;
+            exchange.cancel(true);
+            InputStream stream = body.get();
+            if (stream != null) closeQuietly(stream);
+        });
+
+        return result;
+    }
+
+    public static CompletableFuture<ServerInfoResponse> serverInfo(ServerInfoRequest request) {
+        return serverInfo(request, Priority.INTERACTIVE);
+    }
+
+    public static CompletableFuture<ServerInfoResponse> serverInfo(ServerInfoRequest request, Priority priority) {
+        return serverInfo(request, priority, null);
+    }
+
+    /**
+     * @param onCached receives the response stored on disk, if there is one and it is read before the network answers.
+     *                 The returned future still completes with the fresh response.
+     */
+    public static CompletableFuture<ServerInfoResponse> serverInfo(ServerInfoRequest request, Priority priority, @Nullable Consumer<ServerInfoResponse> onCached) {
+        String key = request.ip() + ":" + request.port();
+        ServerInfoResponse cached = SERVER_INFO_CACHE.get(key);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        String json = ServerSeeker.GSON.toJson(request);
+        CompletableFuture<ServerInfoResponse> network = post("/server_info", json, ServerInfoResponse.class, priority);
+        network.thenAccept(response -> {
+            if (response != null && !response.isError()) SERVER_INFO_CACHE.put(key, response);
+        });
+        return withDiskCache("/server_info", json, ServerInfoResponse.class, network, onCached);
+    }
+
+    public static CompletableFuture<WhereisResponse> whereis(WhereisRequest request) {
+        String json = request.toJson();
+        return withDiskCache("/whereis", json, WhereisResponse.class, post("/whereis", json, WhereisResponse.class, Priority.INTERACTIVE), null);
+    }
+
+    /**
+     * Completes with the network response and stores it on disk.
+     * With {@code onCached} set, the stored response is handed to it first as a preview while the network call is still running.
+     * If the network call fails, including timing out after its retries, the stored response is served instead.
+     */
+    private static <T extends ApiResponse> CompletableFuture<T> withDiskCache(String endpoint, String json, Class<T> type, CompletableFuture<T> network,
+                                                                              @Nullable Consumer<T> onCached) {
+        String key = endpoint + '\n' + json;
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        CompletableFuture<T> stored = onCached != null ? DISK_CACHE.read(key, type) : null;
+        if (stored != null) {
+            stored.thenAccept(entry -> {
+                if (entry != null && !network.isDone()) onCached.accept(entry);
+            });
+        }
+
+        network.whenComplete((response, e) -> {
+            if (e == null) {
+                if (response != null && !response.isError()) DISK_CACHE.write(key, response);
+                result.complete(response);
+                return;
+            }
+            if (network.isCancelled()) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            (stored != null ? stored : DISK_CACHE.read(key, type)).whenComplete((entry, readError) -> {
+                if (entry != null) result.complete(entry);
+                else result.completeExceptionally(e);
+            });
+        });
+
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) network.cancel(true);
+        });
+
+        return result;
+    }
+
+    /**
+     * Concurrent identical requests share one in-flight call.
+     * Every caller gets its own copy of the shared future; the exchange is only aborted once every copy has been cancelled.
+     * An interactive caller joining a queued background call promotes it to the interactive lane.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> post(String endpoint, String json, Class<T> type, Priority priority) {
+        String key = endpoint + '\n' + json;
+
+        boolean[] created = new boolean[1];
+        InFlight<T> flight = (InFlight<T>) IN_FLIGHT.compute(key, (k, existing) -> {
+            if (existing == null) {
+                existing = new InFlight<T>();
+                created[0] = true;
+            }
+            existing.waiters++;
+            if (priority == Priority.INTERACTIVE) existing.interactive = true;
+            return existing;
+        });
+
+        if (created[0]) {
+            String url = ServerSeeker.getApiUrl(endpoint);
+            CompletableFuture<HttpResponse<InputStream>> exchange = SCHEDULER.submit(priority, () -> sendWithRetry(() -> send(key, url, json)));
+            flight.exchange = exchange;
+            if (flight.result.isCancelled()) exchange.cancel(true);
+            if (priority == Priority.BACKGROUND && flight.interactive) SCHEDULER.promote(exchange);
+
+            exchange
+                .thenComposeAsync(response -> parse(flight, key, url, json, response, type), ThreadPools.IO)
+                .whenComplete((response, e) -> {
+                    IN_FLIGHT.remove(key, flight);
+                    if (e != null) flight.result.completeExceptionally(e);
+                    else flight.result.complete(response);
+                });
+        } else if (priority == Priority.INTERACTIVE && flight.exchange != null) {
+            SCHEDULER.promote(flight.exchange);
+        }
+
+        CompletableFuture<T> copy = flight.result.copy();
+        copy.whenComplete((response, e) -> {
+            if (!copy.isCancelled()) return;
+
+            boolean[] abandoned = new boolean[1];
+            IN_FLIGHT.computeIfPresent(key, (k, existing) -> {
+                if (existing != flight || --existing.waiters > 0) return existing;
+                abandoned[0] = true;
+                return null;
+            });
+            if (abandoned[0]) flight.abort();
+        });
+
+        return copy;
+    }
+
+    // Only ask for a 304 while the result it would confirm is still around
+    private static CompletableFuture<HttpResponse<InputStream>> send(String key, String url, String json) {
+        return SmallHttp.sendPostStreamAsync(url, json, DEFAULT_TIMEOUT, NOT_MODIFIED_CACHE.get(key) != null);
+    }
+
+    /**
+     * Parses a response body straight from the (decompressed) stream, or reuses the earlier result when the API confirmed it with a 304.
+     * The body and any follow-up request are registered with the flight, so aborting it closes the stream and stops parsing.
+     */
+    private static <T> CompletableFuture<T> parse(InFlight<T> flight, String key, String url, String json, HttpResponse<InputStream> response, Class<T> type) {
+        flight.body = response.body();
+        // Aborted while waiting for the headers
+        if (flight.result.isDone()) {
+            closeQuietly(response.body());
+            return CompletableFuture.failedFuture(new CancellationException());
+        }
+
+        if (response.statusCode() == 304) {
+            closeQuietly(response.body());
+            Object previous = NOT_MODIFIED_CACHE.get(key);
+            if (type.isInstance(previous)) return CompletableFuture.completedFuture(type.cast(previous));
+
+            // Expired since the request went out, ask again without validators
+            CompletableFuture<HttpResponse<InputStream>> retry = sendWithRetry(() -> SmallHttp.sendPostStreamAsync(url, json, DEFAULT_TIMEOUT));
+            flight.exchange = retry;
+            if (flight.result.isDone()) retry.cancel(true);
+            return retry.thenComposeAsync(again -> parse(flight, key, url, json, again, type), ThreadPools.IO);
+        }
+
+        try (Reader reader = new InputStreamReader(SmallHttp.decodedBody(response), StandardCharsets.UTF_8)) {
+            T parsed = ServerSeeker.GSON.fromJson(reader, type);
+            if (parsed != null && response.headers().firstValue("ETag").or(() -> response.headers().firstValue("Last-Modified")).isPresent()) {
+                NOT_MODIFIED_CACHE.put(key, parsed);
+            }
+            return CompletableFuture.completedFuture(parsed);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends through the API key's token bucket and retries rate limits, gateway errors and network failures
+     * with exponential backoff and full jitter. A Retry-After header overrides the backoff and pauses the bucket,
+     * one longer than the maximum backoff is not waited out: the bucket stays paused and the response is returned as is.
+     * Cancelling the returned future cancels the attempt in progress and stops further retries.
+     */
+    private static <B> CompletableFuture<HttpResponse<B>> sendWithRetry(Supplier<CompletableFuture<HttpResponse<B>>> send) {
+        CompletableFuture<HttpResponse<B>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+        RateLimiter limiter = RATE_LIMITERS.computeIfAbsent(ServerSeeker.getApiKey(), key -> new RateLimiter(10, 2));
+
+        result.whenComplete((response, e) -> {
+            if (!result.isCancelled()) return;
+            CompletableFuture<?> attempt = current.get();
+            if (attempt != null) attempt.cancel(true);
+        });
+
+        scheduleAttempt(send, limiter, 0, limiter.reserve(), result, current);
+        return result;
+    }
+
+    private static <B> void scheduleAttempt(Supplier<CompletableFuture<HttpResponse<B>>> send, RateLimiter limiter, int attempt, long delayMs,
+                                            CompletableFuture<HttpResponse<B>> result, AtomicReference<CompletableFuture<?>> current) {
+        if (delayMs <= 0) {
+            attempt(send, limiter, attempt, result, current);
+            return;
+        }
+
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, ThreadPools.IO)
+            .execute(() -> attempt(send, limiter, attempt, result, current));
+    }
+
+    private static <B> void attempt(Supplier<CompletableFuture<HttpResponse<B>>> send, RateLimiter limiter, int attempt,
+                                    CompletableFuture<HttpResponse<B>> result, AtomicReference<CompletableFuture<?>> current) {
+        if (result.isDone()) return;
+
+        CompletableFuture<HttpResponse<B>> call = send.get();
+        current.set(call);
+        if (result.isDone()) {
+            call.cancel(true);
+            return;
+        }
+
+        call.whenComplete((response, e) -> {
+            if (result.isDone()) return;
+            boolean canRetry = attempt + 1 < MAX_ATTEMPTS;
+
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (!canRetry || !(cause instanceof IOException)) {
+                    result.completeExceptionally(cause);
+                    return;
+                }
+                scheduleAttempt(send, limiter, attempt + 1, backoff(attempt), result, current);
+                return;
+            }
+
+            int status = response.statusCode();
+            if (!canRetry || (status != 429 && status != 502 && status != 503 && status != 504)) {
+                result.complete(response);
+                return;
+            }
+
+            OptionalLong retryAfter = retryAfter(response);
+            if (retryAfter.isPresent()) {
+                limiter.pause(retryAfter.getAsLong());
+                // Waiting that long would hold the scheduler slot and leave the caller without feedback, hand it the response instead
+                if (retryAfter.getAsLong() > MAX_BACKOFF_MS) {
+                    result.complete(response);
+                    return;
+                }
+            }
+            discard(response);
+
+            long delay = Math.max(retryAfter.orElse(backoff(attempt)), limiter.reserve());
+            scheduleAttempt(send, limiter, attempt + 1, delay, result, current);
+        });
+    }
+
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << attempt);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static OptionalLong retryAfter(HttpResponse<?> response) {
+        String value = response.headers().firstValue("Retry-After").orElse(null);
+        if (value == null) return OptionalLong.empty();
+
+        try {
+            return OptionalLong.of(TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {}
+
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return OptionalLong.of(Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis()));
+        } catch (DateTimeParseException ignored) {}
+
+        return OptionalLong.empty();
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream stream) closeQuietly(stream);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {}
+    }
+
+    private static final class InFlight<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<?> exchange;
+        private volatile InputStream body;
+        private volatile boolean interactive;
+        private int waiters; // Only touched inside IN_FLIGHT.compute for this key
+
+        private void abort() {
+            result.cancel(true);
+            CompletableFuture<?> current = exchange;
+            if (current != null) current.cancel(true);
+            // Once the headers are in, only closing the body stops the download and the parser
+            InputStream stream = body;
+            if (stream != null) closeQuietly(stream);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package de.damcraft.serverseeker.ssapi;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.damcraft.serverseeker.ServerSeeker;
+import de.damcraft.serverseeker.ssapi.responses.ServersResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for {@code /servers} responses.
+ * Servers are handed to the callback one by one as they are parsed, so the full result list never has to be buffered.
+ */
+public final class ServersResponseReader {
+    private static final TypeAdapter<ServersResponse.Server> SERVER_ADAPTER = ServerSeeker.GSON.getAdapter(ServersResponse.Server.class);
+
+    private ServersResponseReader() {} // Prevent instantiation
+
+    /**
+     * Reads a response from the given reader.
+     *
+     * @param in the response body
+     * @param onServer called for every server in the {@code data} array, in order
+     * @return the response metadata, without {@code data}
+     */
+    public static ServersResponse read(Reader in, Consumer<ServersResponse.Server> onServer) throws IOException {
+        ServersResponse.Builder builder = ServersResponse.builder();
+
+        try (JsonReader reader = new JsonReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "error" -> builder.error(nextStringOrNull(reader));
+                    case "total_results" -> builder.totalResults(nextIntOrNull(reader));
+                    case "page" -> builder.currentPage(nextIntOrNull(reader));
+                    case "total_pages" -> builder.totalPages(nextIntOrNull(reader));
+                    case "data" -> readServers(reader, onServer);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        return builder.build();
+    }
+
+    private static void readServers(JsonReader reader, Consumer<ServersResponse.Server> onServer) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            onServer.accept(SERVER_ADAPTER.read(reader));
+        }
+        reader.endArray();
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static Integer nextIntOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextInt();
+    }
+}
@@ -34,6 +34,7 @@ public class ServersRequest {
     private Boolean hasPlayers;
     private Boolean hasSpecificPlayer;
     private String playerName;
+    private Integer page;
 
     /**
      * Server software types
@@ -149,6 +150,11 @@ public class ServersRequest {
             return this;
         }
 
+        public Builder page(Integer page) {
+            request.setPage(page);
+            return this;
+        }
+
         public ServersRequest build() {
             return request;
         }
@@ -266,6 +272,13 @@ public class ServersRequest {
         this.hasSpecificPlayer = playerName != null;
     }
 
+    public void setPage(@Nullable Integer page) {
+        if (page != null && page < 1) {
+            throw new IllegalArgumentException("Page must be at least 1");
+        }
+        this.page = page;
+    }
+
     // Validation helper
     private void validatePlayerCount(int count) {
         if (count < 0) {
@@ -291,4 +304,5 @@ public class ServersRequest {
     public Boolean hasPlayers() { return hasPlayers; }
     public Boolean hasSpecificPlayer() { return hasSpecificPlayer; }
     public String getPlayerName() { return playerName; }
+    public Integer getPage() { return page; }
 }
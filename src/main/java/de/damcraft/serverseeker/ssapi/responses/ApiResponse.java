@@ -0,0 +1,11 @@
+package de.damcraft.serverseeker.ssapi.responses;
+
+/**
+ * Common view of every ServerSeeker API response.
+ */
+public interface ApiResponse {
+    /**
+     * Checks if the response contains an error.
+     */
+    boolean isError();
+}
@@ -46,13 +46,14 @@ public record ServerInfoResponse(
     @Nullable String country,
     @Nullable Integer uptime,
     @Nullable List<String> plugins
-) {
+) implements ApiResponse {
     private static final DateTimeFormatter DATE_FORMATTER = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
 
     /**
      * Checks if the response contains an error
      */
+    @Override
     public boolean isError() {
         return error != null;
     }
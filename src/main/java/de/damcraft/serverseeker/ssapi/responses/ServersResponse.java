@@ -12,7 +12,7 @@ import java.util.Objects;
 /**
  * Represents a response containing multiple server entries from a search query.
  */
-public class ServersResponse {
+public class ServersResponse implements ApiResponse {
     @Nullable 
     private final String error;
     
@@ -31,6 +31,7 @@ public class ServersResponse {
     /**
      * Checks if the response contains an error.
      */
+    @Override
     public boolean isError() {
         return error != null;
     }
@@ -12,7 +12,7 @@ import java.util.Objects;
 /**
  * Represents a response containing player location information across servers.
  */
-public class WhereisResponse {
+public class WhereisResponse implements ApiResponse {
     @Nullable 
     private final String error;
     
@@ -31,6 +31,7 @@ public class WhereisResponse {
     /**
      * Checks if the response contains an error.
      */
+    @Override
     public boolean isError() {
         return error != null;
     }
@@ -2,12 +2,13 @@ package de.damcraft.serverseeker.utils;
 
 import de.damcraft.serverseeker.ServerSeeker;
 import de.damcraft.serverseeker.hud.HistoricPlayersHud;
+import de.damcraft.serverseeker.ssapi.RequestScheduler;
+import de.damcraft.serverseeker.ssapi.ServerSeekerApi;
 import de.damcraft.serverseeker.ssapi.requests.ServerInfoRequest;
 import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
 import meteordevelopment.meteorclient.events.game.GameJoinedEvent;
 import meteordevelopment.meteorclient.systems.hud.Hud;
 import meteordevelopment.meteorclient.systems.hud.HudElement;
-import meteordevelopment.meteorclient.utils.network.Http;
 import meteordevelopment.orbit.EventHandler;
 import meteordevelopment.orbit.EventPriority;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
@@ -20,40 +21,39 @@ import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 public final class HistoricPlayersUpdater {
     private static final Logger LOG = LoggerFactory.getLogger(HistoricPlayersUpdater.class);
-    private static final String API_ENDPOINT = "https://api.serverseeker.net/server_info";
-    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
-    private static final int REQUEST_TIMEOUT_MS = 5000;
 
     private HistoricPlayersUpdater() {} // Prevent instantiation
 
     @EventHandler(priority = EventPriority.HIGH)
     private static void onGameJoinEvent(GameJoinedEvent event) {
-        EXECUTOR.submit(HistoricPlayersUpdater::updatePlayersData);
+        update();
     }
 
-    public static CompletableFuture<Void> update() {
-        return CompletableFuture.runAsync(HistoricPlayersUpdater::updatePlayersData, EXECUTOR);
+    public static CompletableFuture<Boolean> update() {
+        return CompletableFuture.supplyAsync(HistoricPlayersUpdater::updatePlayersData, ThreadPools.IO)
+            .thenCompose(Function.identity());
     }
 
-    private static void updatePlayersData() {
+    private static CompletableFuture<Boolean> updatePlayersData() {
         try {
             List<HistoricPlayersHud> activeHuds = getActiveHuds();
-            if (activeHuds.isEmpty()) return;
+            if (activeHuds.isEmpty()) return CompletableFuture.completedFuture(false);
 
             ServerAddress serverAddress = resolveCurrentServerAddress();
-            if (serverAddress == null) return;
+            if (serverAddress == null) return CompletableFuture.completedFuture(false);
 
-            fetchAndUpdateServerInfo(activeHuds, serverAddress);
+            return fetchAndUpdateServerInfo(activeHuds, serverAddress);
         } catch (Exception e) {
             LOG.error("Failed to update historic players data", e);
+            return CompletableFuture.completedFuture(false);
         }
     }
 
@@ -84,36 +84,47 @@ public final class HistoricPlayersUpdater {
         return new ServerAddress(address.getHostString(), address.getPort());
     }
 
-    private static void fetchAndUpdateServerInfo(List<HistoricPlayersHud> huds, ServerAddress serverAddress) {
+    private static CompletableFuture<Boolean> fetchAndUpdateServerInfo(List<HistoricPlayersHud> huds, ServerAddress serverAddress) {
+        long reset = PlayerListTracker.lastReset();
+        boolean[] fresh = { false }; // Only touched on the client thread
         ServerInfoRequest request = new ServerInfoRequest(
             ServerSeeker.API_KEY,
             serverAddress.host(),
             serverAddress.port()
         );
 
-        ServerInfoResponse response = Http.post(API_ENDPOINT)
-            .timeout(REQUEST_TIMEOUT_MS)
-            .exceptionHandler(e -> LOG.error("Failed to fetch server info", e))
-            .bodyJson(request)
-            .sendJson(ServerInfoResponse.class);
+        // The response stored on disk fills the HUD straight away after a restart, until the fresh one arrives
+        Consumer<ServerInfoResponse> onCached = stored -> updateHuds(huds, stored, reset, fresh, true);
 
-        if (response == null || response.isError()) {
-            LOG.warn("Failed to get server info: {}", response == null ? "null" : response.error());
-            return;
-        }
+        return ServerSeekerApi.serverInfo(request, RequestScheduler.Priority.BACKGROUND, onCached).handle((response, e) -> {
+            if (e != null) {
+                LOG.error("Failed to fetch server info", e);
+                return false;
+            }
+
+            if (response.isError()) {
+                LOG.warn("Failed to get server info: {}", response.error());
+                return false;
+            }
 
-        updateHuds(huds, response);
+            updateHuds(huds, response, reset, fresh, false);
+            return true;
+        });
     }
 
-    private static void updateHuds(List<HistoricPlayersHud> huds, ServerInfoResponse response) {
+    private static void updateHuds(List<HistoricPlayersHud> huds, ServerInfoResponse response, long reset, boolean[] fresh, boolean preview) {
         List<ServerInfoResponse.Player> players = Objects.requireNonNullElse(response.players(), List.of());
         Boolean isCracked = response.cracked();
 
         mc.execute(() -> {
+            // Answer for a server that has been left since the request went out
+            if (PlayerListTracker.lastReset() != reset) return;
+            // A preview that lost the race must not overwrite the fresh response
+            if (preview && fresh[0]) return;
+            if (!preview) fresh[0] = true;
+
             for (HistoricPlayersHud hud : huds) {
-                hud.players = players;
-                hud.isCracked = isCracked != null && isCracked;
-                hud.update();
+                hud.updatePlayers(players, isCracked != null && isCracked);
             }
         });
     }
@@ -126,8 +137,4 @@ public final class HistoricPlayersUpdater {
             return new ServerAddress(host, port);
         }
     }
-
-    public static void shutdown() {
-        EXECUTOR.shutdown();
-    }
 }
@@ -0,0 +1,283 @@
+package de.damcraft.serverseeker.utils;
+
+import de.damcraft.serverseeker.ssapi.responses.ServerInfoResponse;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Compact, column oriented store of players seen on a server.
+ * Each player costs two longs for the UUID, an int for the last seen time, an int for the playtime and a pooled name,
+ * instead of a {@link ServerInfoResponse.Player} with boxed fields. Players are looked up by UUID through an
+ * open addressing index and can be walked by last seen time without boxing. Not thread safe.
+ */
+public final class PlayerHistoryStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int PIN_TTL_SECONDS = 10 * 60; // Long enough for the API to pick up a player seen locally
+
+    // Names are shared between stores and refreshes, entries go away once no store references them
+    private static final Map<String, WeakReference<String>> NAME_POOL = new WeakHashMap<>();
+
+    private long[] mostSigBits = new long[INITIAL_CAPACITY];
+    private long[] leastSigBits = new long[INITIAL_CAPACITY];
+    private int[] lastSeen = new int[INITIAL_CAPACITY];
+    private int[] playtime = new int[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] pinnedAt = new int[INITIAL_CAPACITY]; // Epoch second, 0 when not pinned
+    private int size;
+
+    private int[] table = new int[INITIAL_CAPACITY * 2]; // Index + 1, 0 marks an empty slot
+    private long[] order = new long[0]; // lastSeen << 32 | index, ascending
+    private boolean orderDirty;
+    private int generation;
+
+    public int size() {
+        return size;
+    }
+
+    public int indexOf(long mostSigBits, long leastSigBits) {
+        return table[slotOf(mostSigBits, leastSigBits)] - 1;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public int lastSeen(int index) {
+        return lastSeen[index];
+    }
+
+    public int playtime(int index) {
+        return playtime[index];
+    }
+
+    public long mostSigBits(int index) {
+        return mostSigBits[index];
+    }
+
+    public long leastSigBits(int index) {
+        return leastSigBits[index];
+    }
+
+    /**
+     * Merges a fresh player list from the API. Unchanged players are left untouched, players missing from the list
+     * are dropped unless they were {@link #pin pinned} less than ten minutes before {@code now}.
+     *
+     * @return whether anything changed
+     */
+    public boolean merge(List<ServerInfoResponse.Player> players, int now) {
+        int generation = ++this.generation;
+        boolean changed = false;
+
+        for (ServerInfoResponse.Player player : players) {
+            if (player.uuid() == null || player.name() == null) continue;
+
+            long most, least;
+            try {
+                most = parseHex(player.uuid(), 0);
+                least = parseHex(player.uuid(), 1);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            int seen = player.lastSeen() != null ? player.lastSeen() : 0;
+            int minutes = player.playtimeMinutes() != null ? player.playtimeMinutes() : 0;
+            int index = indexOf(most, least);
+
+            if (index < 0) {
+                index = add(most, least, player.name(), seen, minutes);
+                changed = true;
+            } else if (lastSeen[index] < seen || playtime[index] != minutes || !names[index].equals(player.name())) {
+                set(index, player.name(), Math.max(lastSeen[index], seen), minutes);
+                changed = true;
+            }
+
+            generations[index] = generation;
+            pinnedAt[index] = 0;
+        }
+
+        // Removing swaps the last player in, which has already been checked
+        for (int i = size - 1; i >= 0; i--) {
+            if (generations[i] == generation || (pinnedAt[i] != 0 && now - pinnedAt[i] < PIN_TTL_SECONDS)) continue;
+            remove(i);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Records a player seen locally at {@code lastSeen}, it is kept across merges until the API reports it too or the pin expires.
+     */
+    public void pin(long mostSigBits, long leastSigBits, String name, int lastSeen) {
+        int index = indexOf(mostSigBits, leastSigBits);
+        if (index < 0) index = add(mostSigBits, leastSigBits, name, lastSeen, 0);
+        else set(index, name, Math.max(this.lastSeen[index], lastSeen), playtime[index]);
+
+        pinnedAt[index] = lastSeen;
+    }
+
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+        orderDirty = true;
+    }
+
+    /**
+     * Hands player indices to the visitor, most recently seen first, until it returns false.
+     */
+    public void forEachByLastSeen(IndexVisitor visitor) {
+        if (orderDirty) {
+            if (order.length < size) order = new long[mostSigBits.length];
+            for (int i = 0; i < size; i++) order[i] = (long) lastSeen[i] << 32 | i;
+            Arrays.sort(order, 0, size);
+            orderDirty = false;
+        }
+
+        for (int i = size - 1; i >= 0; i--) {
+            if (!visitor.visit((int) order[i])) return;
+        }
+    }
+
+    private int add(long most, long least, String name, int seen, int minutes) {
+        if (size == mostSigBits.length) grow();
+
+        int index = size++;
+        mostSigBits[index] = most;
+        leastSigBits[index] = least;
+        generations[index] = 0;
+        pinnedAt[index] = 0;
+        set(index, name, seen, minutes);
+
+        if (size * 2 > table.length) rehash(table.length * 2);
+        else table[slotOf(most, least)] = index + 1;
+
+        return index;
+    }
+
+    private void set(int index, String name, int seen, int minutes) {
+        names[index] = names[index] != null && names[index].equals(name) ? names[index] : intern(name);
+        lastSeen[index] = seen;
+        playtime[index] = minutes;
+        orderDirty = true;
+    }
+
+    private void remove(int index) {
+        deleteSlot(slotOf(mostSigBits[index], leastSigBits[index]));
+
+        int last = --size;
+        if (index != last) {
+            mostSigBits[index] = mostSigBits[last];
+            leastSigBits[index] = leastSigBits[last];
+            lastSeen[index] = lastSeen[last];
+            playtime[index] = playtime[last];
+            names[index] = names[last];
+            generations[index] = generations[last];
+            pinnedAt[index] = pinnedAt[last];
+            table[slotOf(mostSigBits[index], leastSigBits[index])] = index + 1;
+        }
+
+        names[last] = null;
+        orderDirty = true;
+    }
+
+    private int slotOf(long most, long least) {
+        int mask = table.length - 1;
+        int slot = hash(most, least) & mask;
+
+        while (true) {
+            int entry = table[slot];
+            if (entry == 0 || (mostSigBits[entry - 1] == most && leastSigBits[entry - 1] == least)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Backward shift deletion, keeps probe sequences intact without tombstones
+    private void deleteSlot(int hole) {
+        int mask = table.length - 1;
+        table[hole] = 0;
+
+        for (int slot = (hole + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int entry = table[slot] - 1;
+            int home = hash(mostSigBits[entry], leastSigBits[entry]) & mask;
+
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[hole] = table[slot];
+                table[slot] = 0;
+                hole = slot;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = mostSigBits.length * 2;
+        mostSigBits = Arrays.copyOf(mostSigBits, capacity);
+        leastSigBits = Arrays.copyOf(leastSigBits, capacity);
+        lastSeen = Arrays.copyOf(lastSeen, capacity);
+        playtime = Arrays.copyOf(playtime, capacity);
+        names = Arrays.copyOf(names, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        pinnedAt = Arrays.copyOf(pinnedAt, capacity);
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            table[slotOf(mostSigBits[i], leastSigBits[i])] = i + 1;
+        }
+    }
+
+    private static int hash(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static String intern(String name) {
+        synchronized (NAME_POOL) {
+            WeakReference<String> ref = NAME_POOL.get(name);
+            String pooled = ref != null ? ref.get() : null;
+            if (pooled == null) {
+                NAME_POOL.put(name, new WeakReference<>(name));
+                pooled = name;
+            }
+            return pooled;
+        }
+    }
+
+    /**
+     * Reads one half of a UUID string, with or without dashes, without going through {@link java.util.UUID#fromString}.
+     *
+     * @param half 0 for the most significant bits, 1 for the least significant bits
+     */
+    private static long parseHex(String uuid, int half) {
+        boolean dashed = uuid.length() == 36;
+        if (!dashed && uuid.length() != 32) throw new IllegalArgumentException(uuid);
+
+        int start = half == 0 ? 0 : dashed ? 19 : 16;
+        int end = half == 0 ? dashed ? 18 : 16 : uuid.length();
+        long bits = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = uuid.charAt(i);
+            if (c == '-' && dashed) continue;
+
+            int digit = Character.digit(c, 16);
+            if (digit < 0) throw new IllegalArgumentException(uuid);
+            bits = bits << 4 | digit;
+        }
+        return bits;
+    }
+
+    @FunctionalInterface
+    public interface IndexVisitor {
+        /**
+         * @return false to stop
+         */
+        boolean visit(int index);
+    }
+}
@@ -0,0 +1,128 @@
+package de.damcraft.serverseeker.utils;
+
+import meteordevelopment.meteorclient.events.game.GameLeftEvent;
+import meteordevelopment.meteorclient.events.packets.PacketEvent;
+import meteordevelopment.orbit.EventHandler;
+import net.minecraft.network.packet.s2c.play.GameJoinS2CPacket;
+import net.minecraft.network.packet.s2c.play.PlayerListS2CPacket;
+import net.minecraft.network.packet.s2c.play.PlayerRemoveS2CPacket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Follows the listed players of the tab list through player list packets and keeps a log of joins and leaves.
+ * Unlisted entries, such as NPCs, tab list padding and vanished staff, only count once the server lists them.
+ * Consumers keep a cursor into the log and only process what changed since their last poll,
+ * instead of walking the whole player list. Packets arrive on the network thread, so all state is guarded by the class lock.
+ */
+public final class PlayerListTracker {
+    private static final int MAX_CHANGES = 1024;
+
+    private static final Map<UUID, String> NAMES = new HashMap<>(); // Every entry, listed or not
+    private static final Map<UUID, String> PLAYERS = new LinkedHashMap<>(); // Listed entries only
+    private static final Deque<Change> CHANGES = new ArrayDeque<>();
+    private static long sequence;
+    private static long resetSequence;
+
+    private PlayerListTracker() {} // Prevent instantiation
+
+    @EventHandler
+    private static void onPacket(PacketEvent.Receive event) {
+        // Reset here rather than on GameJoinedEvent, which is posted later from the client thread
+        if (event.packet instanceof GameJoinS2CPacket) reset();
+        else if (event.packet instanceof PlayerListS2CPacket packet) {
+            boolean added = packet.getActions().contains(PlayerListS2CPacket.Action.ADD_PLAYER);
+            boolean listedChanged = packet.getActions().contains(PlayerListS2CPacket.Action.UPDATE_LISTED);
+            if (!added && !listedChanged) return;
+
+            synchronized (PlayerListTracker.class) {
+                for (PlayerListS2CPacket.Entry entry : packet.getEntries()) {
+                    UUID id = entry.profileId();
+                    if (added) NAMES.put(id, entry.profile().getName());
+                    if (listedChanged) setListed(id, entry.listed());
+                }
+            }
+        } else if (event.packet instanceof PlayerRemoveS2CPacket packet) {
+            synchronized (PlayerListTracker.class) {
+                for (UUID id : packet.profileIds()) {
+                    NAMES.remove(id);
+                    String name = PLAYERS.remove(id);
+                    if (name != null) record(new Change(id, name, false));
+                }
+            }
+        }
+    }
+
+    @EventHandler
+    private static void onGameLeft(GameLeftEvent event) {
+        reset();
+    }
+
+    /**
+     * Hands every change after {@code cursor} to the consumer.
+     *
+     * @return the new cursor, or -1 if the changes since {@code cursor} are no longer available and the caller has to {@link #snapshot}
+     */
+    public static synchronized long poll(long cursor, Consumer<Change> onChange) {
+        if (cursor == sequence) return cursor;
+        if (cursor < resetSequence || cursor < sequence - CHANGES.size()) return -1;
+
+        long skip = CHANGES.size() - (sequence - cursor);
+        for (Change change : CHANGES) {
+            if (skip-- > 0) continue;
+            onChange.accept(change);
+        }
+        return sequence;
+    }
+
+    /**
+     * @return an id that changes whenever the tab list was reset by joining or leaving a server
+     */
+    public static synchronized long lastReset() {
+        return resetSequence;
+    }
+
+    /**
+     * Hands every player currently in the tab list to the consumer, in join order.
+     *
+     * @return the cursor to continue polling from
+     */
+    public static synchronized long snapshot(BiConsumer<UUID, String> onPlayer) {
+        PLAYERS.forEach(onPlayer);
+        return sequence;
+    }
+
+    private static synchronized void reset() {
+        NAMES.clear();
+        PLAYERS.clear();
+        CHANGES.clear();
+        resetSequence = ++sequence;
+    }
+
+    // Entries are unlisted until the server says otherwise, listing and unlisting counts as joining and leaving
+    private static void setListed(UUID id, boolean listed) {
+        String name = NAMES.get(id);
+        if (name == null) return;
+
+        if (listed) {
+            if (PLAYERS.put(id, name) == null) record(new Change(id, name, true));
+        } else if (PLAYERS.remove(id) != null) {
+            record(new Change(id, name, false));
+        }
+    }
+
+    private static void record(Change change) {
+        CHANGES.addLast(change);
+        if (CHANGES.size() > MAX_CHANGES) CHANGES.removeFirst();
+        sequence++;
+    }
+
+    public record Change(UUID id, String name, boolean joined) {}
+}
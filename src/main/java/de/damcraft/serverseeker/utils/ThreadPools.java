@@ -0,0 +1,48 @@
+package de.damcraft.serverseeker.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors shared by the whole addon.
+ * Blocking work (network, file I/O, pings) runs on {@link #IO}, one virtual thread per task.
+ * CPU-bound work such as texture decoding runs on the small, bounded {@link #CPU} pool.
+ */
+public final class ThreadPools {
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadPools.class);
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
+    public static final ExecutorService IO = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("ServerSeeker-io-", 0).factory()
+    );
+
+    public static final ExecutorService CPU = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+        Thread.ofPlatform().name("ServerSeeker-cpu-", 0).daemon(true).factory()
+    );
+
+    private ThreadPools() {} // Prevent instantiation
+
+    /**
+     * Stops accepting new tasks and waits briefly for running ones before interrupting them.
+     */
+    public static void shutdown() {
+        IO.shutdown();
+        CPU.shutdown();
+
+        try {
+            if (!IO.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) IO.shutdownNow();
+            if (!CPU.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) CPU.shutdownNow();
+        } catch (InterruptedException e) {
+            IO.shutdownNow();
+            CPU.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        LOG.debug("ServerSeeker executors shut down");
+    }
+}